@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextFormat;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.Color;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A replacement value that is kept between builds, until it expires or its version changes.
+ * Can be shared between threads and builders, when the value needs refreshing only one thread refreshes it
+ * while other threads keep using the previous value.
+ *
+ * <pre>{@code
+ * CachedReplacement online = CachedReplacement.expireAfter(Duration.ofSeconds(5), () -> server.getOnlinePlayers().size());
+ * EnhancedLegacyText.get().buildComponent("&aOnline: %online%").replace("%online%", online).build();
+ * }</pre>
+ */
+@SuppressWarnings("unused") // API
+public final class CachedReplacement implements Supplier<Object> {
+
+    /**
+     * Creates a replacement that is refreshed after the given amount of time.
+     * @param timeToLive how long values are kept for
+     * @param supplier the supplier of the value (see {@link EnhancedComponentBuilder} for possible values)
+     * @return a new {@link CachedReplacement}
+     */
+    public static CachedReplacement expireAfter(@NotNull Duration timeToLive, @NotNull Supplier<?> supplier) {
+        if (timeToLive.isNegative()) {
+            throw new IllegalArgumentException("timeToLive cannot be negative");
+        }
+        return new CachedReplacement(Objects.requireNonNull(supplier), timeToLive.toNanos(), null, Function.identity());
+    }
+
+    /**
+     * Creates a replacement that is refreshed when the version changes, versions are compared with {@link Object#equals(Object)}.
+     * @param version the supplier of the current version, this is called on every build
+     * @param supplier the supplier of the value (see {@link EnhancedComponentBuilder} for possible values)
+     * @return a new {@link CachedReplacement}
+     */
+    public static CachedReplacement versioned(@NotNull Supplier<?> version, @NotNull Supplier<?> supplier) {
+        return new CachedReplacement(Objects.requireNonNull(supplier), -1, Objects.requireNonNull(version), Function.identity());
+    }
+
+    private final Supplier<?> supplier;
+    private final long timeToLive;
+    private final Supplier<?> version;
+    private final Function<Object, Object> transform;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Entry entry;
+
+    private CachedReplacement(Supplier<?> supplier, long timeToLive, Supplier<?> version, Function<Object, Object> transform) {
+        this.supplier = supplier;
+        this.timeToLive = timeToLive;
+        this.version = version;
+        this.transform = transform;
+    }
+
+    /**
+     * Creates a replacement with the same supplier and refresh policy, which turns the value into a component when it is refreshed,
+     * instead of the value being parsed on every build.
+     * Only {@link EnhancedLegacyTextSafeInput} values are parsed for formatting, other text is kept as is.
+     * Components, colors, decorations and styles are used unchanged.
+     * @param enhancedLegacyText the instance to parse values with
+     * @return a new {@link CachedReplacement}, which doesn't share its value with this one
+     */
+    public CachedReplacement parsed(@NotNull EnhancedLegacyText enhancedLegacyText) {
+        Objects.requireNonNull(enhancedLegacyText);
+        return new CachedReplacement(supplier, timeToLive, version, transform.andThen(value -> parse(enhancedLegacyText, value)));
+    }
+
+    private static Object parse(EnhancedLegacyText enhancedLegacyText, Object value) {
+        if (value instanceof ComponentLike || value instanceof TextFormat || value instanceof Style || value instanceof Color) {
+            return value;
+        }
+        if (value instanceof EnhancedLegacyTextSafeInput) {
+            return enhancedLegacyText.parse(value.toString());
+        }
+        // Text from players or other sources isn't formatting
+        return Component.text(String.valueOf(value));
+    }
+
+    /**
+     * Makes the next build refresh the value.
+     */
+    public void invalidate() {
+        Entry entry = this.entry;
+        if (entry != null) {
+            this.entry = new Entry(entry.value, entry.created, entry.version, true);
+        }
+    }
+
+    @Override
+    public Object get() {
+        Entry entry = this.entry;
+        Object version = this.version != null ? this.version.get() : null;
+        if (entry != null && isValid(entry, version)) {
+            return entry.value;
+        }
+
+        if (entry != null) {
+            if (!refreshLock.tryLock()) {
+                // Being refreshed by another thread
+                return entry.value;
+            }
+        } else {
+            refreshLock.lock();
+        }
+        try {
+            entry = this.entry;
+            if (entry != null && isValid(entry, version)) {
+                // Refreshed while waiting
+                return entry.value;
+            }
+
+            Object value = transform.apply(supplier.get());
+            this.entry = new Entry(value, System.nanoTime(), version, false);
+            return value;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private boolean isValid(Entry entry, Object version) {
+        if (entry.invalidated) {
+            return false;
+        }
+        if (this.version != null) {
+            return Objects.equals(entry.version, version);
+        }
+        return System.nanoTime() - entry.created < timeToLive;
+    }
+
+    private static class Entry {
+
+        private final Object value;
+        private final long created;
+        private final Object version;
+        private final boolean invalidated;
+
+        private Entry(Object value, long created, Object version, boolean invalidated) {
+            this.value = value;
+            this.created = created;
+            this.version = version;
+            this.invalidated = invalidated;
+        }
+    }
+}
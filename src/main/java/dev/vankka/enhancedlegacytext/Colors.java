@@ -25,6 +25,7 @@
 package dev.vankka.enhancedlegacytext;
 
 import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
 import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.text.format.TextFormat;
@@ -37,10 +38,10 @@ import java.util.Map;
  */
 class Colors {
 
-    static final String HEX_CHARACTERS = "1234567890abcdef";
     static final Map<Character, TextFormat> LEGACY = new HashMap<>(22);
     static final Reset RESET = new Reset();
     static final Map<String, TextColor> CSS = new HashMap<>(148); // Level 4
+    private static final TextDecoration[] DECORATIONS = TextDecoration.values();
 
     static {
         LEGACY.put('0', NamedTextColor.BLACK);
@@ -217,5 +218,37 @@ class Colors {
         CSS.put("yellowgreen", TextColor.color(0x9acd32));
     }
 
+    /**
+     * Gets the value of a hex digit.
+     * @return the value of the digit or {@code -1} if the character isn't a hex digit
+     */
+    static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * Applies the decorations of the style to a decoration bitmask, of {@code 1 << TextDecoration#ordinal()}.
+     */
+    static int decorations(Style style, int decorations) {
+        for (TextDecoration decoration : DECORATIONS) {
+            TextDecoration.State state = style.decoration(decoration);
+            if (state == TextDecoration.State.TRUE) {
+                decorations |= 1 << decoration.ordinal();
+            } else if (state == TextDecoration.State.FALSE) {
+                decorations &= ~(1 << decoration.ordinal());
+            }
+        }
+        return decorations;
+    }
+
     private static class Reset implements TextFormat {}
 }
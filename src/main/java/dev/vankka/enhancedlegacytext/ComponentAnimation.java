@@ -0,0 +1,307 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Generates animation frames from a single parsed template, without parsing again for every frame.
+ *
+ * The template is flattened into styled segments once, frames only recolor and cut those segments:
+ * - Typewriter: reveals a number of characters every frame
+ * - Gradient shift: moves the colors of each gradient along its text, back and forth,
+ *   for animations from {@link EnhancedComponentBuilder#animate()} which know where the gradients are
+ * - Color cycle: replaces every color from the palette with the next color in the palette every frame
+ *
+ * Configure before creating frames, creating frames is thread safe.
+ */
+@SuppressWarnings("unused") // API
+public class ComponentAnimation {
+
+    /**
+     * Creates a new animation for the given template.
+     * Gradients can't be told apart from other colored text in a component, use {@link EnhancedComponentBuilder#animate()} to shift them.
+     * @param template the parsed template
+     * @return a new animation without any effects
+     */
+    @NotNull
+    public static ComponentAnimation of(@NotNull Component template) {
+        return new ComponentAnimation(Objects.requireNonNull(template));
+    }
+
+    private final List<Segment> segments = new ArrayList<>();
+    private final Set<Component> gradientComponents;
+    private final List<TextColor[]> gradients = new ArrayList<>();
+    private int length = 0;
+
+    private int typewriterSpeed = 0;
+    private int gradientSpeed = 0;
+    private List<TextColor> palette = Collections.emptyList();
+    private int[] paletteIndexes;
+
+    protected ComponentAnimation(Component template) {
+        this(template, Collections.emptySet());
+    }
+
+    ComponentAnimation(Component template, Set<Component> gradientComponents) {
+        this.gradientComponents = gradientComponents;
+        flatten(template, Style.empty());
+    }
+
+    /**
+     * Reveals the text a number of characters at a time, the first frame is empty.
+     * @param charactersPerFrame how many characters are revealed per frame, {@code 0} to disable
+     * @return this animation instance - useful for chaining
+     */
+    public ComponentAnimation typewriter(int charactersPerFrame) {
+        if (charactersPerFrame < 0) {
+            throw new IllegalArgumentException("charactersPerFrame cannot be negative");
+        }
+        this.typewriterSpeed = charactersPerFrame;
+        return this;
+    }
+
+    /**
+     * Shifts the colors of every gradient in the template along its text.
+     * @param charactersPerFrame how many characters the colors move per frame, {@code 0} to disable
+     * @return this animation instance - useful for chaining
+     */
+    public ComponentAnimation gradientShift(int charactersPerFrame) {
+        if (charactersPerFrame < 0) {
+            throw new IllegalArgumentException("charactersPerFrame cannot be negative");
+        }
+        this.gradientSpeed = charactersPerFrame;
+        return this;
+    }
+
+    /**
+     * Cycles colors outside gradients through the given palette,
+     * text with a color from the palette gets the next color in the palette every frame.
+     * @param palette the palette, empty to disable
+     * @return this animation instance - useful for chaining
+     */
+    public ComponentAnimation colorCycle(@NotNull TextColor... palette) {
+        return colorCycle(Arrays.asList(palette));
+    }
+
+    /**
+     * Cycles colors outside gradients through the given palette,
+     * text with a color from the palette gets the next color in the palette every frame.
+     * @param palette the palette, empty to disable
+     * @return this animation instance - useful for chaining
+     */
+    public ComponentAnimation colorCycle(@NotNull List<TextColor> palette) {
+        this.palette = Collections.unmodifiableList(new ArrayList<>(palette));
+
+        int[] indexes = new int[segments.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            Segment segment = segments.get(i);
+            indexes[i] = segment.gradient == -1 ? this.palette.indexOf(segment.style.color()) : -1;
+        }
+        this.paletteIndexes = indexes;
+        return this;
+    }
+
+    /**
+     * The number of visible characters in the template, components other than text count as one character.
+     * @return the length of the template
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * The number of frames until the animation is complete, with the typewriter finished and all cycles back at the start.
+     * Frames after this repeat the periodic effects, with the typewriter staying finished.
+     * @return the number of frames
+     */
+    public int frameCount() {
+        int frames = 1;
+        if (typewriterSpeed > 0) {
+            frames = Math.max(frames, (length + typewriterSpeed - 1) / typewriterSpeed + 1);
+        }
+        if (gradientSpeed > 0) {
+            for (TextColor[] cycle : gradients) {
+                frames = Math.max(frames, cycle.length / gcd(cycle.length, gradientSpeed));
+            }
+        }
+        if (!palette.isEmpty()) {
+            frames = Math.max(frames, palette.size());
+        }
+        return frames;
+    }
+
+    /**
+     * Creates every frame of the animation.
+     * @return {@link #frameCount()} frames
+     */
+    @NotNull
+    public List<Component> frames() {
+        int frameCount = frameCount();
+        List<Component> frames = new ArrayList<>(frameCount);
+        for (int i = 0; i < frameCount; i++) {
+            frames.add(frame(i));
+        }
+        return frames;
+    }
+
+    /**
+     * Creates the frame at the given index.
+     * @param index the index of the frame, starting from {@code 0}
+     * @return the frame
+     */
+    @NotNull
+    public Component frame(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("index cannot be negative");
+        }
+
+        int remaining = typewriterSpeed > 0 ? (int) Math.min((long) index * typewriterSpeed, length) : length;
+        List<Component> children = new ArrayList<>(segments.size());
+        for (int i = 0; i < segments.size() && remaining > 0; i++) {
+            Segment segment = segments.get(i);
+
+            Style style = segment.style;
+            if (segment.gradient != -1 && gradientSpeed > 0) {
+                TextColor[] cycle = gradients.get(segment.gradient);
+                int shift = (int) (((long) index * gradientSpeed) % cycle.length);
+                style = style.color(cycle[(segment.gradientIndex + shift) % cycle.length]);
+            } else if (paletteIndexes != null && paletteIndexes[i] != -1) {
+                style = style.color(palette.get((paletteIndexes[i] + index) % palette.size()));
+            }
+
+            if (segment.content == null) {
+                children.add(segment.component.style(style));
+                remaining--;
+                continue;
+            }
+
+            String content = segment.content;
+            if (content.length() > remaining) {
+                int end = remaining;
+                if (Character.isHighSurrogate(content.charAt(end - 1))) {
+                    // Don't split surrogate pairs
+                    end++;
+                }
+                content = content.substring(0, end);
+            }
+            children.add(Component.text(content, style));
+            remaining -= content.length();
+        }
+
+        return children.size() == 1 ? children.get(0) : Component.text().append(children).build();
+    }
+
+    private void flatten(Component component, Style parentStyle) {
+        Style style = parentStyle.merge(component.style());
+        List<Component> children = component.children();
+
+        if (component instanceof TextComponent) {
+            String content = ((TextComponent) component).content();
+            if (!content.isEmpty()) {
+                segments.add(new Segment(content, null, style, -1, -1));
+                length += content.length();
+            } else if (gradientComponents.contains(component) && isGradient(children)) {
+                int gradient = gradients.size();
+                int size = children.size();
+
+                // The colors forward and then back, so the cycle doesn't jump from the last color to the first
+                TextColor[] cycle = new TextColor[size * 2 - 2];
+                for (int i = 0; i < size; i++) {
+                    Component child = children.get(i);
+                    Style childStyle = style.merge(child.style());
+                    cycle[i] = childStyle.color();
+                    if (i != 0 && i != size - 1) {
+                        cycle[cycle.length - i] = childStyle.color();
+                    }
+
+                    segments.add(new Segment(((TextComponent) child).content(), null, childStyle, gradient, i));
+                }
+                gradients.add(cycle);
+                length += size;
+                return;
+            }
+        } else {
+            segments.add(new Segment(null, component.children(Collections.emptyList()), style, -1, -1));
+            length++;
+        }
+
+        for (Component child : children) {
+            flatten(child, style);
+        }
+    }
+
+    private static boolean isGradient(List<Component> children) {
+        if (children.size() < 2) {
+            return false;
+        }
+        for (Component child : children) {
+            if (!(child instanceof TextComponent)
+                    || ((TextComponent) child).content().length() != 1
+                    || !child.children().isEmpty()
+                    || child.color() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+
+    private static class Segment {
+
+        private final String content;
+        private final Component component;
+        private final Style style;
+        private final int gradient;
+        private final int gradientIndex;
+
+        private Segment(String content, Component component, Style style, int gradient, int gradientIndex) {
+            this.content = content;
+            this.component = component;
+            this.style = style;
+            this.gradient = gradient;
+            this.gradientIndex = gradientIndex;
+        }
+    }
+}
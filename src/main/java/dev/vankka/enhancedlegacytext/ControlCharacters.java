@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+/**
+ * Finds the next character that can change the parser's state, for one color character and syntax dialect.
+ */
+final class ControlCharacters {
+
+    private final char colorChar;
+    private final SyntaxDialect syntax;
+
+    // ASCII control characters as a bitmap
+    private final long[] bitmap = new long[2];
+
+    ControlCharacters(char colorChar, SyntaxDialect syntax) {
+        this.colorChar = colorChar;
+        this.syntax = syntax;
+        for (char c = 0; c < 128; c++) {
+            if (EnhancedLegacyTextParser.isControlCharacter(c, colorChar, syntax)) {
+                bitmap[c >>> 6] |= 1L << c;
+            }
+        }
+    }
+
+    char colorChar() {
+        return colorChar;
+    }
+
+    SyntaxDialect syntax() {
+        return syntax;
+    }
+
+    /**
+     * Gets the index of the next control character.
+     * @param input the input text
+     * @param from the index to start from
+     * @return the index of the next control character, or the length of the input if there isn't one
+     */
+    int next(String input, int from) {
+        int length = input.length();
+        int index = from;
+        while (index < length && !isControlCharacter(input.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Forgets any state kept about the last input.
+     */
+    void clear() {}
+
+    private boolean isControlCharacter(char c) {
+        return c < 128 ? (bitmap[c >>> 6] & (1L << c)) != 0 : c == colorChar;
+    }
+}
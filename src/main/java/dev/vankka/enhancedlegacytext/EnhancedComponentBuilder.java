@@ -45,6 +45,8 @@ import java.util.regex.Pattern;
  * - {@link net.kyori.adventure.text.format.TextFormat}
  * - {@link net.kyori.adventure.text.format.Style}
  * - Any other {@link Object}s will be converted to strings
+ *
+ * Replacements that are expensive to compute can be wrapped in a {@link CachedReplacement} to reuse values between builds.
  */
 @SuppressWarnings("unused") // API
 public class EnhancedComponentBuilder {
@@ -227,4 +229,55 @@ public class EnhancedComponentBuilder {
         return enhancedLegacyText.parse(input, replacements, recursiveReplacement, allPlaceholderOutputIsSafeInput);
     }
 
+    /**
+     * Creates a {@link StyledText} from the provided input and replacements.
+     * @return a new {@link StyledText}
+     */
+    public StyledText buildStyledText() {
+        return enhancedLegacyText.parseToStyledText(input, replacements, recursiveReplacement, allPlaceholderOutputIsSafeInput);
+    }
+
+    /**
+     * Creates a {@link ParseResult} from the provided input and replacements.
+     * @return a new {@link ParseResult}
+     */
+    public ParseResult buildResult() {
+        return enhancedLegacyText.parseToResult(input, replacements, recursiveReplacement, allPlaceholderOutputIsSafeInput);
+    }
+
+    /**
+     * Creates lines from the provided input and replacements, wrapped at the given width.
+     * @param wrap where to wrap lines
+     * @return the lines
+     */
+    public List<Component> buildLines(TextWrap wrap) {
+        return enhancedLegacyText.parseToLines(input, replacements, recursiveReplacement, allPlaceholderOutputIsSafeInput, wrap);
+    }
+
+    /**
+     * Creates pages from the provided input and replacements, for example for books with {@link TextWrap#book()}.
+     * @param wrap where to wrap lines, must have {@link TextWrap#linesPerPage(int)}
+     * @return the pages
+     */
+    public List<Component> buildPages(TextWrap wrap) {
+        return enhancedLegacyText.parseToPages(input, replacements, recursiveReplacement, allPlaceholderOutputIsSafeInput, wrap);
+    }
+
+    /**
+     * Creates a {@link RenderHandle} for rendering the input and replacements repeatedly.
+     * Changes to this builder after creating the handle do not affect the handle.
+     * @return a new {@link RenderHandle}
+     */
+    public RenderHandle renderHandle() {
+        return new RenderHandle(enhancedLegacyText, input, replacements, recursiveReplacement, allPlaceholderOutputIsSafeInput);
+    }
+
+    /**
+     * Creates a {@link ComponentAnimation} using the component from {@link #build()} as the template.
+     * @return a new {@link ComponentAnimation}
+     */
+    public ComponentAnimation animate() {
+        return enhancedLegacyText.parseToAnimation(input, replacements, recursiveReplacement, allPlaceholderOutputIsSafeInput);
+    }
+
 }
@@ -27,8 +27,14 @@ package dev.vankka.enhancedlegacytext;
 import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -59,6 +65,30 @@ public interface EnhancedLegacyText {
      */
     EnhancedComponentBuilder buildComponent(String input);
 
+    /**
+     * Escapes the formatting characters in the text, so it will be parsed as is.
+     * @param text the text to escape
+     * @return the escaped text, or the same text if there was nothing to escape
+     * @throws IllegalStateException if there is something to escape, but escapes are disabled by the {@link SyntaxDialect}
+     */
+    @NotNull
+    String escape(@NotNull String text);
+
+    /**
+     * Gets a {@link EnhancedLegacyTextSerializer} for turning {@link Component}s back into this instance's format.
+     * @return the serializer for this instance
+     */
+    EnhancedLegacyTextSerializer serializer();
+
+    /**
+     * Opens a {@link TemplateCache} for this instance, loading the newest saved generation of the given file if it exists.
+     * @param file the cache file
+     * @return a new {@link TemplateCache}
+     * @throws IOException if the existing file cannot be read
+     * @throws IllegalStateException if this instance has custom tags
+     */
+    TemplateCache templateCache(@NotNull Path file) throws IOException;
+
     /**
      * Parses the input text into a {@link Component} without replacements.
      *
@@ -97,6 +127,201 @@ public interface EnhancedLegacyText {
             boolean allPlaceholderOutputIsSafeInput
     );
 
+    /**
+     * Parses UTF-8 encoded input text into a {@link Component} without replacements,
+     * the result is the same as {@code parse(new String(bytes, StandardCharsets.UTF_8))}.
+     * Text without formatting is decoded straight into the output instead of into a {@link String} first.
+     *
+     * @param input the UTF-8 input text, from its position to its limit. The position is not changed
+     * @return the {@link Component} parsed from the input
+     */
+    @NotNull
+    Component parse(@NotNull ByteBuffer input);
+
+    /**
+     * Parses UTF-8 encoded input text into a {@link Component} without replacements.
+     *
+     * @param input the UTF-8 input text
+     * @param offset the offset of the text in the array
+     * @param length the length of the text in bytes
+     * @return the {@link Component} parsed from the input
+     * @see #parse(ByteBuffer)
+     */
+    default Component parse(byte[] input, int offset, int length) {
+        return parse(ByteBuffer.wrap(input, offset, length));
+    }
+
+    /**
+     * Parses the input text into a {@link StyledText} without replacements.
+     *
+     * @param input the input text
+     * @return the {@link StyledText} parsed from the input
+     */
+    default StyledText parseToStyledText(String input) {
+        return parseToStyledText(input, Collections.emptyList(), RecursiveReplacement.NO, false);
+    }
+
+    /**
+     * Parses the input text and replacements into a {@link StyledText},
+     * the visible text with flat styled ranges instead of a {@link Component} tree.
+     *
+     * @param input the input text
+     * @param replacements the replacements
+     * @param recursiveReplacement the recursive replacement policy
+     * @return the {@link StyledText} parsed from the input and replacements
+     */
+    @NotNull
+    StyledText parseToStyledText(
+            @NotNull String input,
+            @NotNull List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            @NotNull RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput
+    );
+
+    /**
+     * Parses the input text into a {@link ParseResult} without replacements.
+     *
+     * @param input the input text
+     * @return the {@link ParseResult} parsed from the input
+     */
+    default ParseResult parseToResult(String input) {
+        return parseToResult(input, Collections.emptyList(), RecursiveReplacement.NO, false);
+    }
+
+    /**
+     * Parses the input text and replacements into a {@link ParseResult},
+     * the {@link Component} with the visible length and rendered width of its text.
+     *
+     * @param input the input text
+     * @param replacements the replacements
+     * @param recursiveReplacement the recursive replacement policy
+     * @return the {@link ParseResult} parsed from the input and replacements
+     */
+    @NotNull
+    ParseResult parseToResult(
+            @NotNull String input,
+            @NotNull List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            @NotNull RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput
+    );
+
+    /**
+     * Parses the input text and replacements into a {@link ComponentAnimation}, with the gradients of the input known to the animation.
+     *
+     * @param input the input text
+     * @param replacements the replacements
+     * @param recursiveReplacement the recursive replacement policy
+     * @return a new {@link ComponentAnimation} without any effects
+     */
+    @NotNull
+    ComponentAnimation parseToAnimation(
+            @NotNull String input,
+            @NotNull List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            @NotNull RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput
+    );
+
+    /**
+     * Parses the input text into lines without replacements.
+     *
+     * @param input the input text
+     * @param wrap where to wrap lines
+     * @return the lines parsed from the input
+     */
+    default List<Component> parseToLines(String input, TextWrap wrap) {
+        return parseToLines(input, Collections.emptyList(), RecursiveReplacement.NO, false, wrap);
+    }
+
+    /**
+     * Parses the input text and replacements into lines wrapped at the given width,
+     * each line has the style of its text and gradients are spread over the whole text instead of each line.
+     *
+     * @param input the input text
+     * @param replacements the replacements
+     * @param recursiveReplacement the recursive replacement policy
+     * @param wrap where to wrap lines
+     * @return the lines parsed from the input and replacements
+     */
+    @NotNull
+    List<Component> parseToLines(
+            @NotNull String input,
+            @NotNull List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            @NotNull RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput,
+            @NotNull TextWrap wrap
+    );
+
+    /**
+     * Parses the input text into pages without replacements.
+     *
+     * @param input the input text
+     * @param wrap where to wrap lines, must have {@link TextWrap#linesPerPage(int)}
+     * @return the pages parsed from the input
+     */
+    default List<Component> parseToPages(String input, TextWrap wrap) {
+        return parseToPages(input, Collections.emptyList(), RecursiveReplacement.NO, false, wrap);
+    }
+
+    /**
+     * Parses the input text and replacements into pages, for example for books with {@link TextWrap#book()}.
+     * Pages contain the lines from {@link #parseToLines(String, List, RecursiveReplacement, boolean, TextWrap)} separated by newlines.
+     *
+     * @param input the input text
+     * @param replacements the replacements
+     * @param recursiveReplacement the recursive replacement policy
+     * @param wrap where to wrap lines, must have {@link TextWrap#linesPerPage(int)}
+     * @return the pages parsed from the input and replacements
+     */
+    @NotNull
+    default List<Component> parseToPages(
+            @NotNull String input,
+            @NotNull List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            @NotNull RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput,
+            @NotNull TextWrap wrap
+    ) {
+        int linesPerPage = wrap.linesPerPage();
+        if (linesPerPage == 0) {
+            throw new IllegalArgumentException("The TextWrap does not have linesPerPage");
+        }
+
+        List<Component> lines = parseToLines(input, replacements, recursiveReplacement, allPlaceholderOutputIsSafeInput, wrap);
+        List<Component> pages = new ArrayList<>((lines.size() + linesPerPage - 1) / linesPerPage);
+        for (int start = 0; start < lines.size(); start += linesPerPage) {
+            int end = Math.min(start + linesPerPage, lines.size());
+            List<Component> page = new ArrayList<>((end - start) * 2 - 1);
+            for (int i = start; i < end; i++) {
+                if (i != start) {
+                    page.add(Component.newline());
+                }
+                page.add(lines.get(i));
+            }
+            pages.add(Component.text().append(page).build());
+        }
+        return pages;
+    }
+
+    /**
+     * Checks the input text for formatting that would be shown as text, without creating components.
+     * Placeholders are counted with {@link Validation#DEFAULT_PLACEHOLDER}.
+     *
+     * @param input the input text
+     * @return the diagnostics and cost estimate for the input
+     */
+    default Validation validate(String input) {
+        return validate(input, Collections.singletonList(Validation.DEFAULT_PLACEHOLDER));
+    }
+
+    /**
+     * Checks the input text for formatting that would be shown as text, without creating components.
+     *
+     * @param input the input text
+     * @param placeholders the patterns of the placeholders to count, placeholders are not replaced
+     * @return the diagnostics and cost estimate for the input
+     */
+    @NotNull
+    Validation validate(@NotNull String input, @NotNull Collection<Pattern> placeholders);
+
     interface Builder {
 
         /**
@@ -114,6 +339,39 @@ public interface EnhancedLegacyText {
          */
         char getColorCharacter();
 
+        /**
+         * Changes the characters of escapes, square bracket tags and gradients, and which of them are enabled.
+         * The default value is {@link SyntaxDialect#DEFAULT}.
+         * @param syntax the syntax dialect
+         * @return this builder instance, useful for chaining
+         */
+        Builder syntaxDialect(@NotNull SyntaxDialect syntax);
+
+        /**
+         * Gets the characters of escapes, square bracket tags and gradients, and which of them are enabled.
+         * @return the syntax dialect
+         */
+        @NotNull
+        SyntaxDialect getSyntaxDialect();
+
+        /**
+         * Registers a custom square bracket tag, {@code [name:value]} or {@code [name]}.
+         * Registering the same name again replaces the handler.
+         * @param name the name of the tag, consisting of a-z, 0-9, {@code _}, {@code -} and {@code .}
+         * @param handler the handler for the tag's value
+         * @return this builder instance, useful for chaining
+         * @throws IllegalArgumentException if the name is invalid, is the name of a built-in tag, decoration or color,
+         * or is a 3 or 6 digit hex color
+         */
+        Builder tag(@NotNull String name, @NotNull TagHandler handler);
+
+        /**
+         * Gets the registered custom square bracket tags.
+         * @return the tags by name
+         */
+        @NotNull
+        Map<String, TagHandler> getTags();
+
         /**
          * Chooses if color codes reset all formatting and events.
          * The default value is {@code false}.
@@ -156,9 +414,87 @@ public interface EnhancedLegacyText {
          */
         boolean isAdventureHex();
 
+        /**
+         * Changes the color space gradients are interpolated in.
+         * The default value is {@link GradientColorSpace#SRGB}.
+         * @param gradientColorSpace the color space for gradients
+         * @return this builder instance, useful for chaining
+         */
+        Builder gradientColorSpace(@NotNull GradientColorSpace gradientColorSpace);
+
+        /**
+         * Gets the color space gradients are interpolated in.
+         * @return the color space for gradients
+         */
+        @NotNull
+        GradientColorSpace getGradientColorSpace();
+
+        /**
+         * If equal styles, events and gradient colors should be shared between parse results,
+         * reducing memory use when many parsed components are kept around.
+         * The default value is {@code false}.
+         * @param internStyles if styles should be shared
+         * @return this builder instance, useful for chaining
+         */
+        Builder internStyles(boolean internStyles);
+
+        /**
+         * If equal styles, events and gradient colors are shared between parse results.
+         * @return true if styles are shared
+         */
+        boolean isInterningStyles();
+
+        /**
+         * If colors should be changed to the nearest {@link net.kyori.adventure.text.format.NamedTextColor} while parsing,
+         * for clients that can't show other colors. Gradient characters with the same nearest color are combined.
+         * Colors of replacement components are not changed.
+         * The default value is {@code false}.
+         * @param downsampleColors if colors should be downsampled
+         * @return this builder instance, useful for chaining
+         */
+        Builder downsampleColors(boolean downsampleColors);
+
+        /**
+         * If colors are changed to the nearest {@link net.kyori.adventure.text.format.NamedTextColor} while parsing.
+         * @return true if colors are downsampled
+         */
+        boolean isDownsamplingColors();
+
+        /**
+         * Changes how many replacements deep replacement output can be replaced again,
+         * matches deeper than this are left as is.
+         * The default value is {@code 32}.
+         * @param maxReplacementDepth the maximum replacement depth
+         * @return this builder instance, useful for chaining
+         */
+        Builder maxReplacementDepth(int maxReplacementDepth);
+
+        /**
+         * Gets how many replacements deep replacement output can be replaced again.
+         * @return the maximum replacement depth
+         */
+        int getMaxReplacementDepth();
+
+        /**
+         * Changes the total length of text replacements for one parse,
+         * once this is reached the remaining matches in replacement output are left as is.
+         * Matches in the input are always replaced.
+         * The default value is {@code 65536}.
+         * @param maxReplacementLength the maximum total length of text replacements
+         * @return this builder instance, useful for chaining
+         */
+        Builder maxReplacementLength(int maxReplacementLength);
+
+        /**
+         * Gets the total length of text replacements for one parse.
+         * @return the maximum total length of text replacements
+         */
+        int getMaxReplacementLength();
+
         /**
          * Creates a new instance of {@link EnhancedLegacyText}.
          * @return creates a new instance of {@link EnhancedLegacyText}
+         * @throws IllegalStateException if the color character is used by the syntax dialect
          */
         EnhancedLegacyText build();
 
@@ -27,7 +27,15 @@ package dev.vankka.enhancedlegacytext;
 import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -37,24 +45,61 @@ class EnhancedLegacyTextImpl implements EnhancedLegacyText {
     static final EnhancedLegacyTextImpl INSTANCE = new EnhancedLegacyTextImpl(new BuilderImpl());
 
     private final char colorChar;
+    private final SyntaxDialect syntax;
+    private final Map<String, TagHandler> tags;
+    private final Keywords keywords;
     private final boolean colorResets;
     private final boolean legacy;
     private final boolean adventureHex;
+    private final GradientColorSpace gradientColorSpace;
+    private final boolean internStyles;
+    private final boolean downsampleColors;
+    private final int maxReplacementDepth;
+    private final int maxReplacementLength;
+    private final EnhancedLegacyTextSerializer serializer;
 
     EnhancedLegacyTextImpl(Builder builder) {
         this(
                 builder.getColorCharacter(),
+                builder.getSyntaxDialect(),
+                builder.getTags(),
                 builder.isColorResets(),
                 builder.isUsingLegacy(),
-                builder.isAdventureHex()
+                builder.isAdventureHex(),
+                builder.getGradientColorSpace(),
+                builder.isInterningStyles(),
+                builder.isDownsamplingColors(),
+                builder.getMaxReplacementDepth(),
+                builder.getMaxReplacementLength()
         );
     }
 
-    EnhancedLegacyTextImpl(char colorChar, boolean colorResets, boolean legacy, boolean adventureHex) {
+    EnhancedLegacyTextImpl(
+            char colorChar,
+            SyntaxDialect syntax,
+            Map<String, TagHandler> tags,
+            boolean colorResets,
+            boolean legacy,
+            boolean adventureHex,
+            GradientColorSpace gradientColorSpace,
+            boolean internStyles,
+            boolean downsampleColors,
+            int maxReplacementDepth,
+            int maxReplacementLength
+    ) {
         this.colorChar = colorChar;
+        this.syntax = syntax;
+        this.tags = Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+        this.keywords = tags.isEmpty() ? Keywords.BUILT_IN : new Keywords(tags);
         this.colorResets = colorResets;
         this.legacy = legacy;
         this.adventureHex = adventureHex;
+        this.gradientColorSpace = gradientColorSpace;
+        this.internStyles = internStyles;
+        this.downsampleColors = downsampleColors;
+        this.maxReplacementDepth = maxReplacementDepth;
+        this.maxReplacementLength = maxReplacementLength;
+        this.serializer = new EnhancedLegacyTextSerializer(this, colorChar, syntax, colorResets, legacy, adventureHex, gradientColorSpace);
     }
 
     @Override
@@ -62,6 +107,36 @@ class EnhancedLegacyTextImpl implements EnhancedLegacyText {
         return new EnhancedComponentBuilder(this, input);
     }
 
+    @Override
+    public @NotNull String escape(@NotNull String text) {
+        return EnhancedLegacyTextParser.escape(text, colorChar, syntax);
+    }
+
+    @Override
+    public EnhancedLegacyTextSerializer serializer() {
+        return serializer;
+    }
+
+    @Override
+    public TemplateCache templateCache(@NotNull Path file) throws IOException {
+        if (!tags.isEmpty()) {
+            // Tag handlers can return something else on the next start
+            throw new IllegalStateException("Template caches cannot be used with custom tags");
+        }
+
+        // The options that change the parse output, other dialects than the default are only told apart by their hash
+        long dialect = syntax.equals(SyntaxDialect.DEFAULT) ? 0 : syntax.hashCode() & 0xFFFFFFFFL;
+        long options = ((long) colorChar << 32)
+                | ((dialect >>> 16) << 48)
+                | ((dialect & 0xFFFF) << 16)
+                | ((long) gradientColorSpace.ordinal() << 8)
+                | (colorResets ? 1 : 0)
+                | (legacy ? 2 : 0)
+                | (adventureHex ? 4 : 0)
+                | (downsampleColors ? 8 : 0);
+        return new TemplateCache(this, file, options);
+    }
+
     @Override
     public @NotNull Component parse(
             @NotNull String input,
@@ -72,9 +147,16 @@ class EnhancedLegacyTextImpl implements EnhancedLegacyText {
         return EnhancedLegacyTextParser.PARSERS.get()
                 .parseToComponent(
                         colorChar,
+                        syntax,
+                        keywords,
                         colorResets,
                         legacy,
                         adventureHex,
+                        gradientColorSpace,
+                        internStyles,
+                        downsampleColors,
+                        maxReplacementDepth,
+                        maxReplacementLength,
                         input,
                         replacements,
                         recursiveReplacement,
@@ -82,12 +164,166 @@ class EnhancedLegacyTextImpl implements EnhancedLegacyText {
                 );
     }
 
+    @Override
+    public @NotNull Component parse(@NotNull ByteBuffer input) {
+        return EnhancedLegacyTextParser.PARSERS.get()
+                .parseToComponent(
+                        colorChar,
+                        syntax,
+                        keywords,
+                        colorResets,
+                        legacy,
+                        adventureHex,
+                        gradientColorSpace,
+                        internStyles,
+                        downsampleColors,
+                        input
+                );
+    }
+
+    @Override
+    public @NotNull StyledText parseToStyledText(
+            @NotNull String input,
+            @NotNull List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            @NotNull RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput
+    ) {
+        return EnhancedLegacyTextParser.PARSERS.get()
+                .parseToStyledText(
+                        colorChar,
+                        syntax,
+                        keywords,
+                        colorResets,
+                        legacy,
+                        adventureHex,
+                        gradientColorSpace,
+                        internStyles,
+                        downsampleColors,
+                        maxReplacementDepth,
+                        maxReplacementLength,
+                        input,
+                        replacements,
+                        recursiveReplacement,
+                        allPlaceholderOutputIsSafeInput
+                );
+    }
+
+    @Override
+    public @NotNull ParseResult parseToResult(
+            @NotNull String input,
+            @NotNull List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            @NotNull RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput
+    ) {
+        return EnhancedLegacyTextParser.PARSERS.get()
+                .parseToResult(
+                        colorChar,
+                        syntax,
+                        keywords,
+                        colorResets,
+                        legacy,
+                        adventureHex,
+                        gradientColorSpace,
+                        internStyles,
+                        downsampleColors,
+                        maxReplacementDepth,
+                        maxReplacementLength,
+                        input,
+                        replacements,
+                        recursiveReplacement,
+                        allPlaceholderOutputIsSafeInput
+                );
+    }
+
+    @Override
+    public @NotNull ComponentAnimation parseToAnimation(
+            @NotNull String input,
+            @NotNull List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            @NotNull RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput
+    ) {
+        return EnhancedLegacyTextParser.PARSERS.get()
+                .parseToAnimation(
+                        colorChar,
+                        syntax,
+                        keywords,
+                        colorResets,
+                        legacy,
+                        adventureHex,
+                        gradientColorSpace,
+                        internStyles,
+                        downsampleColors,
+                        maxReplacementDepth,
+                        maxReplacementLength,
+                        input,
+                        replacements,
+                        recursiveReplacement,
+                        allPlaceholderOutputIsSafeInput
+                );
+    }
+
+    @Override
+    public @NotNull List<Component> parseToLines(
+            @NotNull String input,
+            @NotNull List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            @NotNull RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput,
+            @NotNull TextWrap wrap
+    ) {
+        return EnhancedLegacyTextParser.PARSERS.get()
+                .parseToLines(
+                        colorChar,
+                        syntax,
+                        keywords,
+                        colorResets,
+                        legacy,
+                        adventureHex,
+                        gradientColorSpace,
+                        internStyles,
+                        downsampleColors,
+                        maxReplacementDepth,
+                        maxReplacementLength,
+                        input,
+                        replacements,
+                        recursiveReplacement,
+                        allPlaceholderOutputIsSafeInput,
+                        wrap
+                );
+    }
+
+    @Override
+    public @NotNull Validation validate(@NotNull String input, @NotNull Collection<Pattern> placeholders) {
+        return EnhancedLegacyTextParser.PARSERS.get()
+                .parseToValidation(
+                        colorChar,
+                        syntax,
+                        keywords,
+                        colorResets,
+                        legacy,
+                        adventureHex,
+                        gradientColorSpace,
+                        internStyles,
+                        downsampleColors,
+                        maxReplacementDepth,
+                        maxReplacementLength,
+                        input,
+                        placeholders
+                );
+    }
+
     static class BuilderImpl implements Builder {
 
         private char colorChar = '&';
+        private SyntaxDialect syntax = SyntaxDialect.DEFAULT;
+        private final Map<String, TagHandler> tags = new LinkedHashMap<>();
         private boolean colorResets = false;
         private boolean legacy = true;
         private boolean adventureHex = true;
+        private GradientColorSpace gradientColorSpace = GradientColorSpace.SRGB;
+        private boolean internStyles = false;
+        private boolean downsampleColors = false;
+        private int maxReplacementDepth = 32;
+        private int maxReplacementLength = 65536;
 
         @Override
         public Builder colorCharacter(char colorChar) {
@@ -99,6 +335,55 @@ class EnhancedLegacyTextImpl implements EnhancedLegacyText {
             return colorChar;
         }
 
+        @Override
+        public Builder syntaxDialect(@NotNull SyntaxDialect syntax) {
+            this.syntax = Objects.requireNonNull(syntax);
+            return this;
+        }
+
+        @Override
+        public @NotNull SyntaxDialect getSyntaxDialect() {
+            return syntax;
+        }
+
+        @Override
+        public Builder tag(@NotNull String name, @NotNull TagHandler handler) {
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Tag name cannot be empty");
+            }
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if ((c < 'a' || c > 'z') && (c < '0' || c > '9') && c != '_' && c != '-' && c != '.') {
+                    throw new IllegalArgumentException("Tag names may only contain a-z, 0-9, '_', '-' and '.': " + name);
+                }
+            }
+            if ((name.length() == 3 || name.length() == 6) && isHex(name)) {
+                // [name] would be parsed as a color
+                throw new IllegalArgumentException("[" + name + "] is a hex color");
+            }
+            Keywords.Keyword keyword = Keywords.BUILT_IN.keyword(name);
+            if (keyword != null && (keyword.tag != null || keyword.decoration != null || keyword.minecraftColor != null || keyword.cssColor != null)) {
+                throw new IllegalArgumentException("[" + name + "] is a built-in tag");
+            }
+            this.tags.put(name, Objects.requireNonNull(handler));
+            return this;
+        }
+
+        private static boolean isHex(String name) {
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public @NotNull Map<String, TagHandler> getTags() {
+            return Collections.unmodifiableMap(tags);
+        }
+
         @Override
         public Builder colorResets(boolean colorResets) {
             this.colorResets = colorResets;
@@ -132,8 +417,72 @@ class EnhancedLegacyTextImpl implements EnhancedLegacyText {
             return adventureHex;
         }
 
+        @Override
+        public Builder gradientColorSpace(@NotNull GradientColorSpace gradientColorSpace) {
+            this.gradientColorSpace = Objects.requireNonNull(gradientColorSpace);
+            return this;
+        }
+
+        @Override
+        public @NotNull GradientColorSpace getGradientColorSpace() {
+            return gradientColorSpace;
+        }
+
+        @Override
+        public Builder internStyles(boolean internStyles) {
+            this.internStyles = internStyles;
+            return this;
+        }
+
+        @Override
+        public boolean isInterningStyles() {
+            return internStyles;
+        }
+
+        @Override
+        public Builder downsampleColors(boolean downsampleColors) {
+            this.downsampleColors = downsampleColors;
+            return this;
+        }
+
+        @Override
+        public boolean isDownsamplingColors() {
+            return downsampleColors;
+        }
+
+        @Override
+        public Builder maxReplacementDepth(int maxReplacementDepth) {
+            if (maxReplacementDepth < 0) {
+                throw new IllegalArgumentException("maxReplacementDepth cannot be negative");
+            }
+            this.maxReplacementDepth = maxReplacementDepth;
+            return this;
+        }
+
+        @Override
+        public int getMaxReplacementDepth() {
+            return maxReplacementDepth;
+        }
+
+        @Override
+        public Builder maxReplacementLength(int maxReplacementLength) {
+            if (maxReplacementLength < 0) {
+                throw new IllegalArgumentException("maxReplacementLength cannot be negative");
+            }
+            this.maxReplacementLength = maxReplacementLength;
+            return this;
+        }
+
+        @Override
+        public int getMaxReplacementLength() {
+            return maxReplacementLength;
+        }
+
         @Override
         public EnhancedLegacyTextImpl build() {
+            if (syntax.isUsed(colorChar)) {
+                throw new IllegalStateException("The color character '" + colorChar + "' is also used by the syntax dialect");
+            }
             return new EnhancedLegacyTextImpl(this);
         }
     }
@@ -30,14 +30,22 @@ import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.format.*;
 
 import java.awt.Color;
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static dev.vankka.enhancedlegacytext.ParseContext.SquareBracketStatus.*;
+import static dev.vankka.enhancedlegacytext.SyntaxDialect.ESCAPE;
+import static dev.vankka.enhancedlegacytext.SyntaxDialect.GRADIENT_DELIMITER;
+import static dev.vankka.enhancedlegacytext.SyntaxDialect.GRADIENT_END;
+import static dev.vankka.enhancedlegacytext.SyntaxDialect.GRADIENT_START;
+import static dev.vankka.enhancedlegacytext.SyntaxDialect.HEX;
+import static dev.vankka.enhancedlegacytext.SyntaxDialect.SQUARE_BRACKET_DELIMITER;
+import static dev.vankka.enhancedlegacytext.SyntaxDialect.SQUARE_BRACKET_END;
+import static dev.vankka.enhancedlegacytext.SyntaxDialect.SQUARE_BRACKET_START;
 
 /**
  * The parser, not thread safe.
@@ -46,131 +54,554 @@ public class EnhancedLegacyTextParser {
 
     protected static final ThreadLocal<EnhancedLegacyTextParser> PARSERS = ThreadLocal.withInitial(EnhancedLegacyTextParser::new);
 
-    private static final char ESCAPE = '\\';
-    private static final char SQUARE_BRACKET_START = '[';
-    private static final char SQUARE_BRACKET_DELIMITER = ':';
-    private static final char SQUARE_BRACKET_END = ']';
-    private static final char GRADIENT_START = '{';
-    private static final char GRADIENT_DELIMITER = ',';
-    private static final char GRADIENT_END = '}';
-    private static final char HEX = '#';
+    // Keywords accepted in each square bracket status
+    private static final int PREFIX_KEYWORDS = Keywords.TAG | Keywords.DECORATION | Keywords.MINECRAFT_COLOR | Keywords.CSS_COLOR;
+    private static final int COLOR_KEYWORDS = Keywords.NAMESPACE | Keywords.MINECRAFT_COLOR | Keywords.CSS_COLOR;
 
-    // Status transitions
-    private static final String COLOR_TRANSITION = "color";
-    private static final String CLICK_TRANSITION = "click";
-    private static final String HOVER_TRANSITION = "hover";
-    private static final String INSERT_TRANSITION = "insert";
-
-    // Hover event type
-    private static final String SHOW_TEXT = "show_text";
-
-    // Color namespaces
-    private static final String NAMESPACE_MINECRAFT = "minecraft";
-    private static final String NAMESPACE_CSS = "css";
-    private static final String NAMESPACE_HEX = "hex";
+    private char colorChar;
+    private SyntaxDialect syntax;
+    private Keywords keywords;
+    private boolean colorResets;
+    private boolean legacy;
+    private boolean adventureHex;
+    private GradientColorSpace gradientColorSpace;
+    private boolean internStyles;
+    private boolean downsampleColors;
+    private int maxReplacementDepth;
+    private int maxReplacementLength;
+    private RecursiveReplacement recursiveReplacement;
+    private boolean allPlaceholderOutputIsSafeInput;
+    private ParseContext ctx;
+    private ParseContext contextCopy;
 
-    // Square brackets prefixes
-    private static final List<Pair<String, Consumer<ParseContext>>> STATUS_TRANSITIONS = new ArrayList<>();
+    private ControlCharacters controlCharacters;
+    private final StringBuilder utf8Characters = new StringBuilder(2);
+    private final Utf8.AsciiView utf8Ascii = new Utf8.AsciiView();
 
-    // Formats
-    private static final Map<String, TextDecoration> DECORATIONS = new HashMap<>(7);
+    // Only when validating
+    private Validating validating;
+    private int[] sourceOffsets;
+    private int sourceIndex;
 
-    // Click events
-    private static final List<Pair<String, ClickEvent.Action>> ACCEPTABLE_CLICK_EVENTS = new ArrayList<>();
+    private EnhancedLegacyTextParser() {}
 
-    static {
-        STATUS_TRANSITIONS.add(new Pair<>(COLOR_TRANSITION, ctx -> ctx.squareBracketStatus = COLOR));
-        STATUS_TRANSITIONS.add(new Pair<>(CLICK_TRANSITION, ctx -> ctx.squareBracketStatus = CLICK_TYPE));
-        STATUS_TRANSITIONS.add(new Pair<>(HOVER_TRANSITION, ctx -> ctx.squareBracketStatus = HOVER_TYPE));
-        STATUS_TRANSITIONS.add(new Pair<>(INSERT_TRANSITION, ctx -> ctx.squareBracketStatus = INSERTION));
+    /**
+     * If the character needs to be escaped to be parsed as text.
+     */
+    static boolean isControlCharacter(char c, char colorChar, SyntaxDialect syntax) {
+        return c == colorChar || syntax.isControlCharacter(c);
+    }
 
-        for (TextDecoration value : TextDecoration.values()) {
-            DECORATIONS.put(value.name().toLowerCase(Locale.ROOT), value);
+    static String escape(String input, char colorChar, SyntaxDialect syntax) {
+        int length = input.length();
+        int first = 0;
+        while (first < length && !isControlCharacter(input.charAt(first), colorChar, syntax)) {
+            first++;
         }
-        DECORATIONS.put("italics", TextDecoration.ITALIC);
-        DECORATIONS.put("underline", TextDecoration.UNDERLINED);
-
-        for (Map.Entry<String, TextDecoration> decoration : DECORATIONS.entrySet()) {
-            STATUS_TRANSITIONS.add(new Pair<>(decoration.getKey(), ctx -> {
-                ctx.squareBracketStatus = DECORATION;
-                ctx.squareBracketContext[0].append(decoration.getKey());
-            }));
+        if (first == length) {
+            return input;
+        }
+        if (!syntax.isEscapes()) {
+            throw new IllegalStateException("Escapes are disabled by the syntax dialect");
         }
 
-        for (ClickEvent.Action value : ClickEvent.Action.values()) {
-            if (value == ClickEvent.Action.OPEN_FILE) {
-                // Client side only
-                continue;
+        StringBuilder builder = new StringBuilder(length + 8);
+        builder.append(input, 0, first);
+        for (int i = first; i < length; i++) {
+            char c = input.charAt(i);
+            if (isControlCharacter(c, colorChar, syntax)) {
+                builder.append(syntax.escapeCharacter());
             }
-            ACCEPTABLE_CLICK_EVENTS.add(new Pair<>(value.name().toLowerCase(), value));
+            builder.append(c);
         }
+        return builder.toString();
     }
 
-    private char colorChar;
-    private boolean colorResets;
-    private boolean legacy;
-    private boolean adventureHex;
-    private RecursiveReplacement recursiveReplacement;
-    private boolean allPlaceholderOutputIsSafeInput;
-    private ParseContext ctx;
-    private ParseContext contextCopy;
+    Component parseToComponent(
+            char colorChar,
+            SyntaxDialect syntax,
+            Keywords keywords,
+            boolean colorResets,
+            boolean legacy,
+            boolean adventureHex,
+            GradientColorSpace gradientColorSpace,
+            boolean internStyles,
+            boolean downsampleColors,
+            int maxReplacementDepth,
+            int maxReplacementLength,
+            String input,
+            List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput
+    ) {
+        if (replacements.isEmpty() && controlCharacters(colorChar, syntax).next(input, 0) == input.length()) {
+            // Nothing to parse
+            return Component.text(input);
+        }
 
-    private EnhancedLegacyTextParser() {}
+        return parse(
+                colorChar,
+                syntax,
+                keywords,
+                colorResets,
+                legacy,
+                adventureHex,
+                gradientColorSpace,
+                internStyles,
+                downsampleColors,
+                maxReplacementDepth,
+                maxReplacementLength,
+                input,
+                replacements,
+                recursiveReplacement,
+                allPlaceholderOutputIsSafeInput,
+                () -> out(false)
+        );
+    }
 
     Component parseToComponent(
             char colorChar,
+            SyntaxDialect syntax,
+            Keywords keywords,
+            boolean colorResets,
+            boolean legacy,
+            boolean adventureHex,
+            GradientColorSpace gradientColorSpace,
+            boolean internStyles,
+            boolean downsampleColors,
+            ByteBuffer input
+    ) {
+        int colorByte = Utf8.firstByte(colorChar);
+        int start = input.position();
+        int end = input.limit();
+        if (Utf8.nextControlByte(input, start, end, colorByte, syntax) == end) {
+            // Nothing to parse
+            StringBuilder text = new StringBuilder(end - start);
+            Utf8.decode(input, start, end, text, utf8Ascii);
+            return Component.text(text.toString());
+        }
+
+        return parse(
+                colorChar,
+                syntax,
+                keywords,
+                colorResets,
+                legacy,
+                adventureHex,
+                gradientColorSpace,
+                internStyles,
+                downsampleColors,
+                0,
+                0,
+                RecursiveReplacement.NO,
+                false,
+                null,
+                () -> parseUtf8(input, start, end, colorByte),
+                () -> out(false)
+        );
+    }
+
+    StyledText parseToStyledText(
+            char colorChar,
+            SyntaxDialect syntax,
+            Keywords keywords,
             boolean colorResets,
             boolean legacy,
             boolean adventureHex,
+            GradientColorSpace gradientColorSpace,
+            boolean internStyles,
+            boolean downsampleColors,
+            int maxReplacementDepth,
+            int maxReplacementLength,
             String input,
             List<Pair<Pattern, Function<Matcher, Object>>> replacements,
             RecursiveReplacement recursiveReplacement,
             boolean allPlaceholderOutputIsSafeInput
     ) {
-        this.colorChar = colorChar;
-        this.colorResets = colorResets;
-        this.legacy = legacy;
-        this.adventureHex = adventureHex;
-        this.recursiveReplacement = recursiveReplacement;
-        this.allPlaceholderOutputIsSafeInput = allPlaceholderOutputIsSafeInput;
+        return parse(
+                colorChar,
+                syntax,
+                keywords,
+                colorResets,
+                legacy,
+                adventureHex,
+                gradientColorSpace,
+                internStyles,
+                downsampleColors,
+                maxReplacementDepth,
+                maxReplacementLength,
+                input,
+                replacements,
+                recursiveReplacement,
+                allPlaceholderOutputIsSafeInput,
+                this::outStyledText
+        );
+    }
 
+    ParseResult parseToResult(
+            char colorChar,
+            SyntaxDialect syntax,
+            Keywords keywords,
+            boolean colorResets,
+            boolean legacy,
+            boolean adventureHex,
+            GradientColorSpace gradientColorSpace,
+            boolean internStyles,
+            boolean downsampleColors,
+            int maxReplacementDepth,
+            int maxReplacementLength,
+            String input,
+            List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput
+    ) {
+        return parse(
+                colorChar,
+                syntax,
+                keywords,
+                colorResets,
+                legacy,
+                adventureHex,
+                gradientColorSpace,
+                internStyles,
+                downsampleColors,
+                maxReplacementDepth,
+                maxReplacementLength,
+                input,
+                replacements,
+                recursiveReplacement,
+                allPlaceholderOutputIsSafeInput,
+                this::outResult
+        );
+    }
+
+    ComponentAnimation parseToAnimation(
+            char colorChar,
+            SyntaxDialect syntax,
+            Keywords keywords,
+            boolean colorResets,
+            boolean legacy,
+            boolean adventureHex,
+            GradientColorSpace gradientColorSpace,
+            boolean internStyles,
+            boolean downsampleColors,
+            int maxReplacementDepth,
+            int maxReplacementLength,
+            String input,
+            List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput
+    ) {
+        return parse(
+                colorChar,
+                syntax,
+                keywords,
+                colorResets,
+                legacy,
+                adventureHex,
+                gradientColorSpace,
+                internStyles,
+                downsampleColors,
+                maxReplacementDepth,
+                maxReplacementLength,
+                input,
+                replacements,
+                recursiveReplacement,
+                allPlaceholderOutputIsSafeInput,
+                this::outAnimation
+        );
+    }
+
+    List<Component> parseToLines(
+            char colorChar,
+            SyntaxDialect syntax,
+            Keywords keywords,
+            boolean colorResets,
+            boolean legacy,
+            boolean adventureHex,
+            GradientColorSpace gradientColorSpace,
+            boolean internStyles,
+            boolean downsampleColors,
+            int maxReplacementDepth,
+            int maxReplacementLength,
+            String input,
+            List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput,
+            TextWrap wrap
+    ) {
+        return parse(
+                colorChar,
+                syntax,
+                keywords,
+                colorResets,
+                legacy,
+                adventureHex,
+                gradientColorSpace,
+                internStyles,
+                downsampleColors,
+                maxReplacementDepth,
+                maxReplacementLength,
+                input,
+                replacements,
+                recursiveReplacement,
+                allPlaceholderOutputIsSafeInput,
+                () -> outLines(wrap)
+        );
+    }
+
+    Validation parseToValidation(
+            char colorChar,
+            SyntaxDialect syntax,
+            Keywords keywords,
+            boolean colorResets,
+            boolean legacy,
+            boolean adventureHex,
+            GradientColorSpace gradientColorSpace,
+            boolean internStyles,
+            boolean downsampleColors,
+            int maxReplacementDepth,
+            int maxReplacementLength,
+            String input,
+            Collection<Pattern> placeholders
+    ) {
+        Validating validating = new Validating(input.length());
+        for (Pattern placeholder : placeholders) {
+            Matcher matcher = placeholder.matcher(input);
+            while (matcher.find()) {
+                validating.placeholders++;
+            }
+        }
+
+        return parse(
+                colorChar,
+                syntax,
+                keywords,
+                colorResets,
+                legacy,
+                adventureHex,
+                gradientColorSpace,
+                internStyles,
+                downsampleColors,
+                maxReplacementDepth,
+                maxReplacementLength,
+                RecursiveReplacement.NO,
+                false,
+                validating,
+                () -> processPlaceholders(input, Collections.emptyList()),
+                this::outValidation
+        );
+    }
+
+    private <T> T parse(
+            char colorChar,
+            SyntaxDialect syntax,
+            Keywords keywords,
+            boolean colorResets,
+            boolean legacy,
+            boolean adventureHex,
+            GradientColorSpace gradientColorSpace,
+            boolean internStyles,
+            boolean downsampleColors,
+            int maxReplacementDepth,
+            int maxReplacementLength,
+            String input,
+            List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput,
+            Supplier<T> out
+    ) {
+        return parse(
+                colorChar,
+                syntax,
+                keywords,
+                colorResets,
+                legacy,
+                adventureHex,
+                gradientColorSpace,
+                internStyles,
+                downsampleColors,
+                maxReplacementDepth,
+                maxReplacementLength,
+                recursiveReplacement,
+                allPlaceholderOutputIsSafeInput,
+                null,
+                () -> processPlaceholders(input, replacements),
+                out
+        );
+    }
+
+    private <T> T parse(
+            char colorChar,
+            SyntaxDialect syntax,
+            Keywords keywords,
+            boolean colorResets,
+            boolean legacy,
+            boolean adventureHex,
+            GradientColorSpace gradientColorSpace,
+            boolean internStyles,
+            boolean downsampleColors,
+            int maxReplacementDepth,
+            int maxReplacementLength,
+            RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput,
+            Validating validating,
+            Runnable input,
+            Supplier<T> out
+    ) {
+        // Replacements and tags may parse with another instance on this thread, the outer parse continues after them
+        char colorCharBefore = this.colorChar;
+        SyntaxDialect syntaxBefore = this.syntax;
+        Keywords keywordsBefore = this.keywords;
+        boolean colorResetsBefore = this.colorResets;
+        boolean legacyBefore = this.legacy;
+        boolean adventureHexBefore = this.adventureHex;
+        GradientColorSpace gradientColorSpaceBefore = this.gradientColorSpace;
+        boolean internStylesBefore = this.internStyles;
+        boolean downsampleColorsBefore = this.downsampleColors;
+        int maxReplacementDepthBefore = this.maxReplacementDepth;
+        int maxReplacementLengthBefore = this.maxReplacementLength;
+        RecursiveReplacement recursiveReplacementBefore = this.recursiveReplacement;
+        boolean allPlaceholderOutputIsSafeInputBefore = this.allPlaceholderOutputIsSafeInput;
+        ControlCharacters controlCharactersBefore = this.controlCharacters;
+        Validating validatingBefore = this.validating;
         ParseContext contextBeforeParse = ctx;
         ParseContext contextCopyBeforeParse = contextCopy;
-        this.ctx = new ParseContext();
-        this.contextCopy = null;
-
-        processPlaceholders(input, replacements, true);
-        Component output = out(false);
 
-        ctx = contextBeforeParse;
-        contextCopy = contextCopyBeforeParse;
-        return output;
+        try {
+            this.controlCharacters = controlCharacters(colorChar, syntax);
+            this.colorChar = colorChar;
+            this.syntax = syntax;
+            this.keywords = keywords;
+            this.colorResets = colorResets;
+            this.legacy = legacy;
+            this.adventureHex = adventureHex;
+            this.gradientColorSpace = gradientColorSpace;
+            this.internStyles = internStyles;
+            this.downsampleColors = downsampleColors;
+            this.maxReplacementDepth = maxReplacementDepth;
+            this.maxReplacementLength = maxReplacementLength;
+            this.recursiveReplacement = recursiveReplacement;
+            this.allPlaceholderOutputIsSafeInput = allPlaceholderOutputIsSafeInput;
+            this.validating = validating;
+            this.ctx = new ParseContext();
+            this.contextCopy = null;
+
+            input.run();
+            return out.get();
+        } finally {
+            controlCharacters.clear();
+
+            this.colorChar = colorCharBefore;
+            this.syntax = syntaxBefore;
+            this.keywords = keywordsBefore;
+            this.colorResets = colorResetsBefore;
+            this.legacy = legacyBefore;
+            this.adventureHex = adventureHexBefore;
+            this.gradientColorSpace = gradientColorSpaceBefore;
+            this.internStyles = internStylesBefore;
+            this.downsampleColors = downsampleColorsBefore;
+            this.maxReplacementDepth = maxReplacementDepthBefore;
+            this.maxReplacementLength = maxReplacementLengthBefore;
+            this.recursiveReplacement = recursiveReplacementBefore;
+            this.allPlaceholderOutputIsSafeInput = allPlaceholderOutputIsSafeInputBefore;
+            if (controlCharactersBefore != null) {
+                this.controlCharacters = controlCharactersBefore;
+            }
+            this.validating = validatingBefore;
+            ctx = contextBeforeParse;
+            contextCopy = contextCopyBeforeParse;
+        }
     }
 
     private Component out(boolean skipRollbackCheck) {
+        return out(skipRollbackCheck, null);
+    }
+
+    private Component out(boolean skipRollbackCheck, Set<Component> gradients) {
         if (!skipRollbackCheck) {
-            if (contextCopy != null) {
-                ctx = contextCopy;
-                contextCopy = null;
-                rollback();
-            } else if (ctx.squareBracketStatus != NONE) {
-                rollback();
-            }
+            rollbackIfIncomplete();
         }
 
         // Append remaining content
         appendContent(true);
 
         // Simplify the output component if possible
-        List<Component> rootChildren = ctx.rootBuilder.children();
-        return rootChildren.size() == 1 ? rootChildren.get(0) : ctx.rootBuilder.build();
+        List<Component> rootChildren = ctx.root.childComponents(ctx.text, internStyles, gradients);
+        if (rootChildren.isEmpty()) {
+            return Component.empty();
+        }
+        return rootChildren.size() == 1 ? rootChildren.get(0) : Span.text("", Style.empty(), rootChildren);
+    }
+
+    private void rollbackIfIncomplete() {
+        if (contextCopy != null) {
+            ctx = contextCopy;
+            contextCopy = null;
+            rollback(Validation.Kind.UNTERMINATED);
+        } else if (ctx.squareBracketStatus != NONE) {
+            rollback(Validation.Kind.UNTERMINATED);
+        }
+    }
+
+    private StyledText outStyledText() {
+        rollbackIfIncomplete();
+        appendContent(true);
+
+        return StyledText.of(ctx.root, ctx.text);
+    }
+
+    private ParseResult outResult() {
+        Component component = out(false);
+
+        // Measured from the spans, before they're gone
+        FontWidths.Measure measure = new FontWidths.Measure();
+        measure.span(ctx.root, ctx.text, false);
+        return new ParseResult(component, measure.length, measure.width);
+    }
+
+    private ComponentAnimation outAnimation() {
+        // Gradients are known from the spans, the components alone can't tell them apart from other single colored characters
+        Set<Component> gradients = Collections.newSetFromMap(new IdentityHashMap<>());
+        Component component = out(false, gradients);
+        return new ComponentAnimation(component, gradients);
+    }
+
+    private List<Component> outLines(TextWrap wrap) {
+        rollbackIfIncomplete();
+        appendContent(true);
+
+        return new LineWrapper(wrap, internStyles).wrap(ctx.root, ctx.text);
+    }
+
+    private Validation outValidation() {
+        if (contextCopy == null && ctx.squareBracketStatus == NONE && (ctx.color || ctx.gradient)) {
+            // Color code or gradient at the end of the input
+            validating.report(Validation.Kind.UNTERMINATED, ctx, sourceIndex);
+        }
+        rollbackIfIncomplete();
+        appendContent(true);
+
+        validating.componentCount += Validating.componentCount(ctx.root);
+        return validating.finish();
     }
 
     private void bufferForRollback(char c) {
-        ctx.rollbackBuffer.append(c);
+        bufferForRollback(ctx, c, sourceIndex);
+    }
+
+    private void bufferForRollback(ParseContext context, char c, int offset) {
+        if (validating != null) {
+            context.trackRollbackOffset(offset);
+        }
+        context.rollbackBuffer.append(c);
     }
 
-    private void rollback() {
+    private void rollback(Validation.Kind kind) {
+        if (validating != null) {
+            validating.report(kind, ctx, sourceIndex);
+        }
+
         if (ctx.gradient) {
             ctx.gradientColors.clear();
         }
@@ -181,16 +612,15 @@ public class EnhancedLegacyTextParser {
         }
 
         // First character as normal content
-        ctx.content.append(ctx.rollbackBuffer.charAt(0));
+        ctx.text.append(ctx.rollbackBuffer.charAt(0));
         ctx.newChild.set(false);
 
         String end = ctx.rollbackBuffer.substring(1);
+        int[] offsets = validating != null ? ctx.rollbackOffsets(1) : null;
         ctx.rollbackBuffer.setLength(0);
 
-        // Rest parsed one by one
-        for (char c : end.toCharArray()) {
-            parseCharacter(c);
-        }
+        // Rest parsed again
+        parseText(end, offsets);
     }
 
     private void reset() {
@@ -199,6 +629,13 @@ public class EnhancedLegacyTextParser {
         for (int i = 0; i < ctx.squareBracketContext.length; i++) {
             ctx.squareBracketContext[i].setLength(0);
         }
+        ctx.keyword = Keywords.ROOT;
+        ctx.colorNamespace = null;
+        ctx.decoration = null;
+        ctx.clickAction = null;
+        ctx.tagHandler = null;
+        ctx.translateArguments = null;
+        ctx.translateDepth = 0;
 
         ctx.color = false;
         ctx.hexColor = false;
@@ -215,70 +652,83 @@ public class EnhancedLegacyTextParser {
 
     private void parseCharacter(char c) {
         if (contextCopy != null) {
-            contextCopy.rollbackBuffer.append(c);
+            bufferForRollback(contextCopy, c, sourceIndex);
         }
 
+        // The syntax this character is a part of, nothing if it's escaped
+        int role = syntax.role(c);
         boolean escape = ctx.escape;
         if (escape) {
             ctx.escape = false;
-        } else if (c == ESCAPE) {
+            role = 0;
+        } else if ((role & ESCAPE) != 0) {
             ctx.escape = true;
             return;
         }
 
-        Predicate<Character> controlMatcher = controlCharacter -> !escape && c == controlCharacter;
-
         // Square brackets
         ParseContext.SquareBracketStatus squareBracketStatus = ctx.squareBracketStatus;
         if (squareBracketStatus != NONE) {
             bufferForRollback(c);
 
-            if ((squareBracketStatus == HOVER_TYPE || squareBracketStatus == CLICK_TYPE) && controlMatcher.test(SQUARE_BRACKET_END)) {
-                rollback();
+            if ((squareBracketStatus == HOVER_TYPE || squareBracketStatus == CLICK_TYPE) && (role & SQUARE_BRACKET_END) != 0) {
+                rollback(squareBracketStatus == HOVER_TYPE ? Validation.Kind.UNKNOWN_HOVER_ACTION : Validation.Kind.UNKNOWN_CLICK_ACTION);
                 return;
             }
 
             // Undo hover/click/color
-            if (squareBracketStatus == PREFIX && controlMatcher.test(SQUARE_BRACKET_END)) {
-                String buffer = ctx.squareBracketPrefix.toString();
-                switch (buffer) {
-                    case COLOR_TRANSITION: {
+            if (squareBracketStatus == PREFIX && (role & SQUARE_BRACKET_END) != 0) {
+                Keywords.Keyword keyword = keywords.keyword(ctx.keyword);
+                ParseContext.SquareBracketStatus tag = keyword != null ? keyword.tag : null;
+                if (tag == null) {
+                    TextColor color = parseColor(null, ctx.squareBracketPrefix);
+                    if (color != null) {
+                        applyColor(color);
+                        return;
+                    }
+
+                    TextDecoration decoration = keyword != null ? keyword.decoration : null;
+                    if (decoration != null) {
+                        decorate(decoration, false);
+                        resetPrefix();
+                        return;
+                    }
+
+                    rollback(Validation.Kind.UNKNOWN_TAG);
+                    return;
+                }
+
+                switch (tag) {
+                    case COLOR: {
                         clearExistingContent();
                         colorize(null);
                         break;
                     }
-                    case CLICK_TRANSITION: {
+                    case CLICK_TYPE: {
                         appendContent(true);
                         ctx.clickEvent = null;
                         break;
                     }
-                    case HOVER_TRANSITION: {
+                    case HOVER_TYPE: {
                         appendContent(true);
                         ctx.hoverEvent = null;
                         break;
                     }
-                    case INSERT_TRANSITION: {
+                    case INSERTION: {
                         appendContent(true);
                         ctx.insertion = null;
                         break;
                     }
-                    default: {
-                        TextColor color = parseColor(null, buffer);
-                        if (color != null) {
-                            applyColor(color);
-                            return;
-                        }
-
-                        TextDecoration decoration = DECORATIONS.get(buffer);
-                        if (decoration != null) {
-                            decorate(decoration, false);
-                            resetPrefix();
-                            return;
-                        }
-
-                        rollback();
+                    case TRANSLATE: {
+                        rollback(Validation.Kind.INVALID_TAG_VALUE);
+                        return;
+                    }
+                    case CUSTOM: {
+                        handleTag(keyword.handler, "");
                         return;
                     }
+                    default:
+                        throw new IllegalStateException("Impossible tag: " + tag);
                 }
 
                 resetPrefix();
@@ -286,36 +736,45 @@ public class EnhancedLegacyTextParser {
             }
 
             if (squareBracketStatus == PREFIX) {
-                String buffer = ctx.squareBracketPrefix.toString();
-                if (controlMatcher.test(SQUARE_BRACKET_DELIMITER)) {
-                    for (Pair<String, Consumer<ParseContext>> transition : STATUS_TRANSITIONS) {
-                        String key = transition.getKey();
-                        if (contextCopy != null && (key.equals(CLICK_TRANSITION) || key.equals(HOVER_TRANSITION))) {
-                            continue;
-                        }
+                if ((role & SQUARE_BRACKET_DELIMITER) != 0) {
+                    Keywords.Keyword keyword = keywords.keyword(ctx.keyword);
+                    ParseContext.SquareBracketStatus tag = keyword != null ? keyword.tag : null;
+                    if (tag != null && !(contextCopy != null && tag.isEvent())) {
+                        ctx.squareBracketPrefix.setLength(0);
+                        ctx.squareBracketStatus = tag;
+                        ctx.tagHandler = keyword.handler;
+                        ctx.keyword = Keywords.ROOT;
+                        return;
+                    }
 
-                        if (buffer.equals(key)) {
-                            ctx.squareBracketPrefix.setLength(0);
-                            transition.getValue().accept(ctx);
-                            return;
-                        }
+                    TextDecoration decoration = keyword != null ? keyword.decoration : null;
+                    if (decoration != null) {
+                        ctx.squareBracketPrefix.setLength(0);
+                        ctx.squareBracketStatus = DECORATION;
+                        ctx.decoration = decoration;
+                        ctx.keyword = Keywords.ROOT;
+                        return;
                     }
 
-                    rollback();
+                    rollback(Validation.Kind.UNKNOWN_TAG);
                     return;
                 }
 
                 ctx.squareBracketPrefix.append(c);
+                if (!nextKeyword(c, PREFIX_KEYWORDS) && !isHexPrefix(ctx.squareBracketPrefix)) {
+                    // Impossible prefix, no need to wait for the end
+                    rollback(Validation.Kind.UNKNOWN_TAG);
+                }
                 return;
             }
 
             boolean hover;
             if ((hover = squareBracketStatus == HOVER_TYPE) || squareBracketStatus == CLICK_TYPE) {
-                if (controlMatcher.test(SQUARE_BRACKET_DELIMITER)) {
-                    String buffer = ctx.squareBracketContext[0].toString();
+                if ((role & SQUARE_BRACKET_DELIMITER) != 0) {
+                    Keywords.Keyword keyword = keywords.keyword(ctx.keyword);
 
                     if (hover) {
-                        if (buffer.equals(SHOW_TEXT)) {
+                        if (keyword != null && keyword.hoverAction) {
                             clearExistingContent();
 
                             ctx.squareBracketStatus = HOVER_VALUE;
@@ -325,46 +784,40 @@ public class EnhancedLegacyTextParser {
                             return;
                         }
                     } else /* click */ {
-                        for (Pair<String, ClickEvent.Action> event : ACCEPTABLE_CLICK_EVENTS) {
-                            String match = event.getKey();
-                            if (match.equals(buffer)) {
-                                ctx.squareBracketStatus = CLICK_VALUE;
-                                return;
-                            }
+                        if (keyword != null && keyword.clickAction != null) {
+                            ctx.clickAction = keyword.clickAction;
+                            ctx.squareBracketStatus = CLICK_VALUE;
+                            return;
                         }
                     }
 
-                    rollback();
+                    rollback(hover ? Validation.Kind.UNKNOWN_HOVER_ACTION : Validation.Kind.UNKNOWN_CLICK_ACTION);
                     return;
                 }
 
-                ctx.squareBracketContext[0].append(c);
+                if (!nextKeyword(c, hover ? Keywords.HOVER_ACTION : Keywords.CLICK_ACTION)) {
+                    rollback(hover ? Validation.Kind.UNKNOWN_HOVER_ACTION : Validation.Kind.UNKNOWN_CLICK_ACTION);
+                }
                 return;
             }
 
             if ((hover = squareBracketStatus == HOVER_VALUE) || squareBracketStatus == CLICK_VALUE) {
-                if (controlMatcher.test(SQUARE_BRACKET_END)) {
-                    String type = ctx.squareBracketContext[0].toString();
+                if ((role & SQUARE_BRACKET_END) != 0) {
                     String valueBuffer = ctx.squareBracketContext[1].toString();
 
                     if (hover) {
-                        throw new IllegalStateException("Impossible hover type: " + type);
+                        throw new IllegalStateException("Impossible hover value");
                     } else /* click */ {
-                        ClickEvent.Action action = null;
-                        for (Pair<String, ClickEvent.Action> event : ACCEPTABLE_CLICK_EVENTS) {
-                            if (event.getKey().equals(type)) {
-                                action = event.getValue();
-                                break;
-                            }
-                        }
+                        ClickEvent.Action action = ctx.clickAction;
                         if (action == null) {
-                            throw new IllegalStateException("Impossible click type: " + type);
+                            throw new IllegalStateException("Impossible click type");
                         }
 
                         // Clear up the existing text buffer first
                         clearExistingContent();
 
-                        ctx.clickEvent = ClickEvent.clickEvent(action, valueBuffer);
+                        ClickEvent clickEvent = ClickEvent.clickEvent(action, valueBuffer);
+                        ctx.clickEvent = internStyles ? StyleInterner.clickEvent(clickEvent) : clickEvent;
                     }
 
                     resetPrefix();
@@ -376,7 +829,7 @@ public class EnhancedLegacyTextParser {
             }
 
             if (squareBracketStatus == INSERTION) {
-                if (controlMatcher.test(SQUARE_BRACKET_END)) {
+                if ((role & SQUARE_BRACKET_END) != 0) {
                     String insert = ctx.squareBracketContext[0].toString();
 
                     // Clear up the existing text buffer first
@@ -398,34 +851,34 @@ public class EnhancedLegacyTextParser {
 
             boolean namespaced;
             if ((namespaced = squareBracketStatus == COLOR_NAMESPACED) || squareBracketStatus == COLOR) {
-                if (!namespaced && controlMatcher.test(SQUARE_BRACKET_DELIMITER)) {
-                    String buffer = ctx.squareBracketContext[0].toString();
-                    if (!buffer.equals(NAMESPACE_MINECRAFT) && !buffer.equals(NAMESPACE_CSS) && !buffer.equals(NAMESPACE_HEX)) {
-                        rollback();
+                if (!namespaced && (role & SQUARE_BRACKET_DELIMITER) != 0) {
+                    Keywords.Keyword keyword = keywords.keyword(ctx.keyword);
+                    if (keyword == null || keyword.namespace == null) {
+                        rollback(Validation.Kind.UNKNOWN_COLOR);
                         return;
                     }
 
+                    ctx.colorNamespace = keyword.namespace;
                     ctx.squareBracketStatus = COLOR_NAMESPACED;
+                    ctx.keyword = Keywords.ROOT;
                     return;
                 }
-                if (!namespaced && controlMatcher.test(HEX)) {
+                if (!namespaced && (role & HEX) != 0) {
                     if (ctx.squareBracketContext[0].length() > 0) {
-                        rollback();
+                        rollback(Validation.Kind.UNKNOWN_COLOR);
                         return;
                     }
 
-                    ctx.squareBracketContext[0].append(NAMESPACE_HEX);
+                    ctx.colorNamespace = Keywords.Namespace.HEX;
                     ctx.squareBracketStatus = COLOR_NAMESPACED;
                     return;
                 }
 
-                if (controlMatcher.test(SQUARE_BRACKET_END)) {
-                    String namespace = namespaced ? ctx.squareBracketContext[0].toString() : null;
-                    String name = ctx.squareBracketContext[namespaced ? 1 : 0].toString();
-
-                    TextColor color = parseColor(namespace, name);
+                StringBuilder name = ctx.squareBracketContext[namespaced ? 1 : 0];
+                if ((role & SQUARE_BRACKET_END) != 0) {
+                    TextColor color = parseColor(namespaced ? ctx.colorNamespace : null, name);
                     if (color == null) {
-                        rollback();
+                        rollback(Validation.Kind.UNKNOWN_COLOR);
                         return;
                     }
 
@@ -433,64 +886,128 @@ public class EnhancedLegacyTextParser {
                     return;
                 }
 
-                ctx.squareBracketContext[namespaced ? 1 : 0].append(c);
+                name.append(c);
+
+                boolean possible;
+                if (!namespaced) {
+                    possible = nextKeyword(c, COLOR_KEYWORDS) || isHexPrefix(name);
+                } else {
+                    switch (ctx.colorNamespace) {
+                        case MINECRAFT:
+                            possible = nextKeyword(c, Keywords.MINECRAFT_COLOR);
+                            break;
+                        case CSS:
+                            possible = nextKeyword(c, Keywords.CSS_COLOR);
+                            break;
+                        default:
+                            possible = isHexPrefix(name);
+                            break;
+                    }
+                }
+                if (!possible) {
+                    rollback(Validation.Kind.UNKNOWN_COLOR);
+                }
                 return;
             }
 
             if (squareBracketStatus == DECORATION) {
-                if (controlMatcher.test(SQUARE_BRACKET_END)) {
-                    String buffer = ctx.squareBracketContext[0].toString();
-                    TextDecoration decoration = DECORATIONS.get(buffer);
+                if ((role & SQUARE_BRACKET_END) != 0) {
+                    TextDecoration decoration = ctx.decoration;
                     if (decoration == null) {
-                        throw new IllegalStateException("Impossible decoration: " + buffer);
+                        throw new IllegalStateException("Impossible decoration");
                     }
 
-                    boolean booleanValue;
-                    String value = ctx.squareBracketContext[1].toString();
-                    switch (value) {
-                        case "true":
-                        case "on":
-                            booleanValue = true;
-                            break;
-                        case "false":
-                        case "off":
-                            booleanValue = false;
-                            break;
-                        default:
-                            rollback();
-                            return;
+                    Keywords.Keyword keyword = keywords.keyword(ctx.keyword);
+                    if (keyword == null || keyword.state == null) {
+                        rollback(Validation.Kind.INVALID_DECORATION_STATE);
+                        return;
                     }
 
-                    decorate(decoration, booleanValue);
+                    decorate(decoration, keyword.state);
                     reset();
                     return;
                 }
 
-                ctx.squareBracketContext[1].append(c);
+                if (!nextKeyword(c, Keywords.BOOLEAN)) {
+                    rollback(Validation.Kind.INVALID_DECORATION_STATE);
+                }
+                return;
+            }
+
+            if (squareBracketStatus == TRANSLATE) {
+                List<String> arguments = ctx.translateArguments;
+                StringBuilder argument = ctx.squareBracketContext[1];
+                if (ctx.translateDepth == 0 && (role & (SQUARE_BRACKET_DELIMITER | SQUARE_BRACKET_END)) != 0) {
+                    if (arguments == null) {
+                        ctx.translateArguments = arguments = new ArrayList<>(2);
+                    } else {
+                        arguments.add(argument.toString());
+                        argument.setLength(0);
+                    }
+                    if ((role & SQUARE_BRACKET_END) != 0) {
+                        translate(ctx.squareBracketContext[0].toString(), arguments);
+                    }
+                    return;
+                }
+
+                if (arguments == null) {
+                    ctx.squareBracketContext[0].append(c);
+                    return;
+                }
+
+                // Arguments are parsed later, tags in them are kept whole
+                if ((role & SQUARE_BRACKET_START) != 0) {
+                    ctx.translateDepth++;
+                } else if ((role & SQUARE_BRACKET_END) != 0) {
+                    ctx.translateDepth--;
+                }
+                if (escape) {
+                    argument.append(syntax.escapeCharacter());
+                }
+                argument.append(c);
+                return;
+            }
+
+            if (squareBracketStatus == CUSTOM) {
+                if ((role & SQUARE_BRACKET_END) != 0) {
+                    handleTag(ctx.tagHandler, ctx.squareBracketContext[0].toString());
+                    return;
+                }
+
+                ctx.squareBracketContext[0].append(c);
                 return;
             }
 
             throw new IllegalStateException("Unexpected SquareBracketStatus: " + squareBracketStatus);
-        } else if (controlMatcher.test(SQUARE_BRACKET_START)) {
+        } else if ((role & SQUARE_BRACKET_START) != 0) {
             bufferForRollback(c);
             ctx.squareBracketStatus = PREFIX;
             return;
         }
 
-        if (contextCopy != null && controlMatcher.test(SQUARE_BRACKET_END)) {
-            Component component = out(true);
+        if (contextCopy != null && (role & SQUARE_BRACKET_END) != 0) {
+            Component component;
+            if (validating != null) {
+                // Counted instead of built
+                appendContent(true);
+                validating.componentCount += Validating.componentCount(ctx.root);
+                component = Component.empty();
+            } else {
+                component = out(true);
+            }
 
             ctx = contextCopy;
             contextCopy = null;
 
-            ctx.hoverEvent = HoverEvent.showText(component);
+            HoverEvent<Component> hoverEvent = HoverEvent.showText(component);
+            ctx.hoverEvent = internStyles ? StyleInterner.hoverEvent(hoverEvent) : hoverEvent;
             resetPrefix();
             return;
         }
 
         if (ctx.color) {
             bufferForRollback(c);
-            if (adventureHex && controlMatcher.test(HEX)) {
+            if (adventureHex && (role & HEX) != 0) {
                 ctx.hexColor = true;
                 return;
             }
@@ -498,13 +1015,12 @@ public class EnhancedLegacyTextParser {
             if (ctx.hexColor) {
                 for (int i = 0; i < 6; i++) {
                     if (ctx.hex[i] == Character.MIN_VALUE) {
-                        char character = Character.toLowerCase(c);
-                        if (!Colors.HEX_CHARACTERS.contains(Character.toString(character))) {
-                            rollback();
+                        if (Colors.hexDigit(c) == -1) {
+                            rollback(Validation.Kind.INVALID_HEX_COLOR);
                             return;
                         }
 
-                        ctx.hex[i] = character;
+                        ctx.hex[i] = Character.toLowerCase(c);
                         if (i != 5) {
                             return;
                         }
@@ -527,13 +1043,13 @@ public class EnhancedLegacyTextParser {
                 }
             } else {
                 if (!legacy) {
-                    rollback();
+                    rollback(Validation.Kind.INVALID_LEGACY_CODE);
                     return;
                 }
 
                 TextFormat legacy = Colors.LEGACY.get(c);
                 if (legacy == null || (ctx.gradient && !(legacy instanceof TextColor))) {
-                    rollback();
+                    rollback(legacy == null ? Validation.Kind.INVALID_LEGACY_CODE : Validation.Kind.INVALID_GRADIENT);
                     return;
                 }
 
@@ -564,31 +1080,142 @@ public class EnhancedLegacyTextParser {
             }
             return;
         }
-        if (!ctx.gradientDelimiter && controlMatcher.test(colorChar)) {
+        if (!ctx.gradientDelimiter && !escape && c == colorChar) {
             bufferForRollback(c);
             ctx.color = true;
             return;
         }
-        if (ctx.gradient && ctx.gradientDelimiter && controlMatcher.test(GRADIENT_END)) {
+        if (ctx.gradient && ctx.gradientDelimiter && (role & GRADIENT_END) != 0) {
             ctx.gradient = false;
+            ctx.gradientDelimiter = false;
             ctx.rollbackBuffer.setLength(0);
             return;
         }
         if (ctx.gradientDelimiter) {
             bufferForRollback(c);
             ctx.gradientDelimiter = false;
-            if (c != GRADIENT_DELIMITER || escape) {
-                rollback();
+            if ((role & GRADIENT_DELIMITER) == 0) {
+                rollback(Validation.Kind.INVALID_GRADIENT);
             }
             return;
         }
-        if (controlMatcher.test(GRADIENT_START)) {
+        if ((role & GRADIENT_START) != 0) {
             bufferForRollback(c);
             ctx.gradient = true;
             return;
         }
 
-        ctx.content.append(c);
+        ctx.text.append(c);
+        ctx.newChild.set(false);
+    }
+
+    private void parseText(String input) {
+        parseText(input, null);
+    }
+
+    /**
+     * @param offsets the offsets of the input's characters in the validated input, or {@code null} if the input is at offset 0
+     */
+    private void parseText(String input, int[] offsets) {
+        int[] offsetsBefore = sourceOffsets;
+        sourceOffsets = offsets;
+
+        int length = input.length();
+        int index = 0;
+        while (index < length) {
+            if (!ctx.escape && ctx.squareBracketStatus == NONE && !ctx.color && !ctx.gradientDelimiter) {
+                // Only control characters can change the state, everything before the next one is content
+                int end = controlCharacters.next(input, index);
+                if (end != index) {
+                    appendLiteral(input, index, end);
+                    index = end;
+                    continue;
+                }
+            }
+            if (validating != null) {
+                sourceIndex = sourceOffset(index);
+            }
+            parseCharacter(input.charAt(index++));
+        }
+        sourceOffsets = offsetsBefore;
+    }
+
+    private int sourceOffset(int index) {
+        return sourceOffsets != null ? sourceOffsets[index] : index;
+    }
+
+    private void parseUtf8(ByteBuffer input, int start, int end, int colorByte) {
+        int index = start;
+        while (index < end) {
+            if (!ctx.escape && ctx.squareBracketStatus == NONE && !ctx.color && !ctx.gradientDelimiter) {
+                // Only control characters can change the state, everything before the next one is content
+                int runEnd = Utf8.nextControlByte(input, index, end, colorByte, syntax);
+                if (runEnd != index) {
+                    appendUtf8(input, index, runEnd);
+                    index = runEnd;
+                    continue;
+                }
+            }
+
+            byte b = input.get(index);
+            if (b >= 0) {
+                parseCharacter((char) b);
+                index++;
+                continue;
+            }
+
+            // A single character, or all of the invalid bytes up to the next ASCII character
+            int characterEnd = Utf8.characterEnd(input, index, end);
+            StringBuilder characters = utf8Characters;
+            characters.setLength(0);
+            Utf8.decode(input, index, characterEnd, characters, utf8Ascii);
+            for (int i = 0; i < characters.length(); i++) {
+                parseCharacter(characters.charAt(i));
+            }
+            index = characterEnd;
+        }
+    }
+
+    private void appendUtf8(ByteBuffer input, int start, int end) {
+        StringBuilder text = ctx.text;
+        int textStart = text.length();
+        Utf8.decode(input, start, end, text, utf8Ascii);
+        if (contextCopy != null) {
+            contextCopy.rollbackBuffer.append(text, textStart, text.length());
+        }
+
+        ctx.escape = false;
+        ctx.newChild.set(false);
+    }
+
+    private ControlCharacters controlCharacters(char colorChar, SyntaxDialect syntax) {
+        ControlCharacters controlCharacters = this.controlCharacters;
+        if (controlCharacters == null || controlCharacters.colorChar() != colorChar || !controlCharacters.syntax().equals(syntax)) {
+            controlCharacters = new ControlCharacters(colorChar, syntax);
+            if (ctx == null) {
+                // Not inside a parse, keep it for the next one
+                this.controlCharacters = controlCharacters;
+            }
+        }
+        return controlCharacters;
+    }
+
+    private void appendLiteral(String input, int start, int end) {
+        if (start == end) {
+            return;
+        }
+        if (contextCopy != null) {
+            if (validating != null) {
+                for (int i = start; i < end; i++) {
+                    bufferForRollback(contextCopy, input.charAt(i), sourceOffset(i));
+                }
+            } else {
+                contextCopy.rollbackBuffer.append(input, start, end);
+            }
+        }
+
+        ctx.escape = false;
+        ctx.text.append(input, start, end);
         ctx.newChild.set(false);
     }
 
@@ -613,76 +1240,164 @@ public class EnhancedLegacyTextParser {
             for (int i = 0; i < ctx.squareBracketContext.length; i++) {
                 ctx.squareBracketContext[i].setLength(0);
             }
+            ctx.keyword = Keywords.ROOT;
+            ctx.colorNamespace = null;
         } else {
             colorize(color);
             resetPrefix();
         }
     }
 
-    private TextColor parseColor(String namespace, String name) {
+    private boolean nextKeyword(char c, int kinds) {
+        ctx.keyword = keywords.next(ctx.keyword, c);
+        return keywords.reaches(ctx.keyword, kinds);
+    }
+
+    private boolean isHexPrefix(CharSequence buffer) {
+        int length = buffer.length();
+        int start = length > 0 && buffer.charAt(0) == syntax.hexCharacter() ? 1 : 0;
+        if (length - start > 6) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            if (Colors.hexDigit(buffer.charAt(i)) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private TextColor parseColor(Keywords.Namespace namespace, CharSequence name) {
         boolean namespaced = namespace != null;
 
-        TextColor color = null;
-        if (!namespaced || NAMESPACE_MINECRAFT.equals(namespace)) {
-            color = NamedTextColor.NAMES.value(name);
+        Keywords.Keyword keyword = keywords.keyword(ctx.keyword);
+        if (keyword != null) {
+            if (keyword.minecraftColor != null && (!namespaced || namespace == Keywords.Namespace.MINECRAFT)) {
+                return keyword.minecraftColor;
+            }
+            if (keyword.cssColor != null && (!namespaced || namespace == Keywords.Namespace.CSS)) {
+                return keyword.cssColor;
+            }
+        }
+
+        if (namespaced && namespace != Keywords.Namespace.HEX) {
+            return null;
         }
-        if (color == null && (!namespaced || NAMESPACE_CSS.equals(namespace))) {
-            color = Colors.CSS.get(name);
+
+        int start = name.length() > 0 && name.charAt(0) == syntax.hexCharacter() ? 1 : 0;
+        int length = name.length() - start;
+        if (length != 3 && length != 6) {
+            return null;
         }
 
-        if (color == null && (!namespaced || NAMESPACE_HEX.equals(namespace))) {
-            if (name.startsWith("#")) {
-                name = name.substring(1);
+        int rgb = 0;
+        for (int i = start; i < name.length(); i++) {
+            int digit = Colors.hexDigit(name.charAt(i));
+            if (digit == -1) {
+                return null;
             }
 
-            int length;
-            if ((length = name.length()) == 3 || name.length() == 6) {
-                boolean isHex = true;
-                name = name.toLowerCase(Locale.ROOT);
-                for (int i = 0; i < name.length(); i++) {
-                    if (!Colors.HEX_CHARACTERS.contains(Character.toString(name.charAt(i)))) {
-                        isHex = false;
-                        break;
-                    }
-                }
-                if (isHex) {
-                    if (length == 3) {
-                        int c1 = Character.digit(name.charAt(0), 16);
-                        int c2 = Character.digit(name.charAt(1), 16);
-                        int c3 = Character.digit(name.charAt(2), 16);
+            rgb = (rgb << 4) | digit;
+            if (length == 3) {
+                // Shorthand, each digit is repeated
+                rgb = (rgb << 4) | digit;
+            }
+        }
+        return TextColor.color(rgb);
+    }
 
-                        int rgb = (c3 + (c3 << 4))
-                                + ((c2 + (c2 << 4)) << 8)
-                                + ((c1 + (c1 << 4)) << 16);
-                        color = TextColor.color(rgb);
-                    } else {
-                        int rgb = Integer.parseInt(name, 16);
-                        color = TextColor.color(rgb);
-                    }
-                }
+    private void handleTag(TagHandler handler, String value) {
+        if (validating != null) {
+            // Custom handlers only run for output
+            resetPrefix();
+            return;
+        }
+
+        Object result = handler.handle(value);
+        if (result == null) {
+            rollback(Validation.Kind.INVALID_TAG_VALUE);
+            return;
+        }
+        resetPrefix();
+
+        if (result instanceof ComponentLike) {
+            appendComponent((ComponentLike) result);
+        } else if (result instanceof TextColor) {
+            colorize((TextColor) result);
+        } else if (result instanceof TextDecoration) {
+            decorate((TextDecoration) result, true);
+        } else if (result instanceof Style) {
+            Style style = (Style) result;
+            if (downsampleColors) {
+                style = NamedColors.nearest(style);
+            }
+            if (!ctx.newChild.get()) {
+                appendContent(false);
+            }
+            ctx.current.style = ctx.current.style.merge(style);
+        } else {
+            throw new IllegalStateException("Unsupported tag result: " + result.getClass().getName());
+        }
+    }
+
+    private void translate(String key, List<String> arguments) {
+        if (key.isEmpty()) {
+            rollback(Validation.Kind.INVALID_TAG_VALUE);
+            return;
+        }
+        resetPrefix();
+
+        List<Component> parsedArguments = new ArrayList<>(arguments.size());
+        if (validating != null) {
+            // Counted instead of parsed
+            validating.componentCount += arguments.size();
+        } else {
+            for (String argument : arguments) {
+                parsedArguments.add(parseArgument(argument));
             }
         }
+        appendComponent(Component.translatable(key, parsedArguments));
+    }
 
-        return color;
+    private Component parseArgument(String argument) {
+        return parse(
+                colorChar,
+                syntax,
+                keywords,
+                colorResets,
+                legacy,
+                adventureHex,
+                gradientColorSpace,
+                internStyles,
+                downsampleColors,
+                maxReplacementDepth,
+                maxReplacementLength,
+                recursiveReplacement,
+                allPlaceholderOutputIsSafeInput,
+                null,
+                () -> parseText(argument),
+                () -> out(false)
+        );
     }
 
     private void colorize(TextColor textColor) {
+        if (downsampleColors && textColor != null) {
+            textColor = NamedColors.nearest(textColor);
+        }
         if (colorResets || !ctx.newChild.get()) {
             appendContent(colorResets);
             if (colorResets) {
                 ctx.newChild.set(true);
             }
         }
-        ctx.current.color(textColor);
+        ctx.current.style = ctx.current.style.color(textColor);
     }
 
     private void decorate(TextDecoration decoration, boolean state) {
-        if (ctx.newChild.get()) {
-            ctx.current.decoration(decoration, state);
-        } else {
+        if (!ctx.newChild.get()) {
             appendContent(false);
-            ctx.current.decoration(decoration, state);
         }
+        ctx.current.style = ctx.current.style.decoration(decoration, state);
     }
 
     private void appendContent(boolean toRoot) {
@@ -690,182 +1405,380 @@ public class EnhancedLegacyTextParser {
     }
 
     private void appendContent(boolean toRoot, boolean allowEmpty) {
-        StringBuilder contentBuilder = ctx.content;
+        int contentStart = ctx.contentStart;
+        int contentEnd = ctx.text.length();
         List<TextColor> gradientColors = ctx.gradientColors;
         ClickEvent clickEvent = ctx.clickEvent;
         HoverEvent<?> hoverEvent = ctx.hoverEvent;
         String insertion = ctx.insertion;
 
-        if (gradientColors.size() > 1 && contentBuilder.length() > 0) {
-            addIfNotEmpty(ctx.current, ctx.builders);
-            ctx.current = Component.text();
+        if (gradientColors.size() > 1 && contentEnd > contentStart) {
+            addIfNotEmpty(ctx.current, ctx.chain);
+            ctx.current = new Span();
+
+            int[] stops = new int[gradientColors.size()];
+            for (int i = 0; i < stops.length; i++) {
+                stops[i] = gradientColors.get(i).value();
+            }
 
-            Gradient gradient = new Gradient(gradientColors, contentBuilder.length());
-            char[] inputText = contentBuilder.toString().toCharArray();
-            int index = 0;
-            for (TextColor color : gradient.colors()) {
-                char character = inputText[index++];
-                ctx.current.append(Component.text(character).color(color));
+            Gradient gradient = new Gradient(stops, contentEnd - contentStart, gradientColorSpace);
+            if (validating != null) {
+                validating.gradientCharacters += contentEnd - contentStart;
+            }
+            if (downsampleColors) {
+                // Characters with the same nearest color are one span
+                NamedTextColor previous = null;
+                int runStart = contentStart;
+                for (int i = contentStart; i < contentEnd; i++) {
+                    NamedTextColor color = NamedColors.nearest(gradient.color(i - contentStart));
+                    if (color != previous) {
+                        if (previous != null) {
+                            ctx.current.append(new Span(runStart, i, Style.style(previous)));
+                        }
+                        previous = color;
+                        runStart = i;
+                    }
+                }
+                ctx.current.append(new Span(runStart, contentEnd, Style.style(previous)));
+            } else {
+                for (int i = contentStart; i < contentEnd; i++) {
+                    TextColor color = TextColor.color(gradient.color(i - contentStart));
+                    if (internStyles) {
+                        color = StyleInterner.color(color);
+                    }
+                    ctx.current.append(new Span(i, i + 1, Style.style(color)));
+                }
+                ctx.current.gradient = true;
             }
             gradientColors.clear();
         } else {
-            ctx.current.content(ctx.current.content() + contentBuilder);
+            ctx.current.start = contentStart;
+            ctx.current.end = contentEnd;
         }
-        contentBuilder.setLength(0);
+        ctx.contentStart = contentEnd;
 
+        Style style = ctx.current.style;
         if (hoverEvent != null) {
-            ctx.current.hoverEvent(hoverEvent);
+            style = style.hoverEvent(hoverEvent);
         }
         if (clickEvent != null) {
-            ctx.current.clickEvent(clickEvent);
+            style = style.clickEvent(clickEvent);
         }
         if (insertion != null) {
-            ctx.current.insertion(insertion);
+            style = style.insertion(insertion);
         }
+        ctx.current.style = style;
 
-        if (allowEmpty || !ctx.current.content().isEmpty() || !ctx.current.children().isEmpty()) {
-            addIfNotEmpty(ctx.current, ctx.builders);
+        if (allowEmpty || ctx.current.hasContent() || ctx.current.children != null) {
+            addIfNotEmpty(ctx.current, ctx.chain);
         }
-        if (toRoot && !ctx.builders.isEmpty()) {
-            ctx.rootBuilder.append(collapse(ctx.builders));
-            ctx.builders.clear();
+        if (toRoot && !ctx.chain.isEmpty()) {
+            ctx.root.append(collapse(ctx.chain));
+            ctx.chain.clear();
         }
-        ctx.current = Component.text();
+        ctx.current = new Span();
         ctx.newChild.set(true);
     }
 
-    private void processPlaceholders(String input, List<Pair<Pattern, Function<Matcher, Object>>> replacements, boolean safeInput) {
-        boolean anyMatch = false;
-        String suffix = null;
+    private void appendComponent(ComponentLike component) {
+        appendContent(false, true);
+        if (component instanceof BuildableComponent) {
+            ctx.chain.add(new Span((Component) component));
+        } else {
+            Span wrapper = new Span();
+            wrapper.append(new Span(component.asComponent()));
+            ctx.chain.add(wrapper);
+        }
+        appendContent(true);
+    }
 
-        for (int i = 0; i < replacements.size(); i++) {
-            Pair<Pattern, Function<Matcher, Object>> replacementEntry = replacements.get(i);
-            Pattern pattern = replacementEntry.getKey();
+    private void processPlaceholders(String input, List<Pair<Pattern, Function<Matcher, Object>>> replacements) {
+        // Work is taken from the end, items are added in reverse order
+        ArrayDeque<Expansion> work = new ArrayDeque<>();
+        work.push(new Expansion(input, 0, true, null));
 
-            Matcher matcher = pattern.matcher(input);
-            if (matcher.find()) {
-                if (!ctx.newChild.get()) {
-                    // Clear up the existing text buffer first
-                    appendContent(false);
-                }
-                int start = matcher.start();
-                int end = matcher.end();
+        int replacedLength = 0;
+        Expansion expansion;
+        while ((expansion = work.poll()) != null) {
+            if (expansion.matcher != null) {
+                replacedLength += replace(expansion, replacements, replacedLength, work);
+                continue;
+            }
 
-                String prefix = start == 0 ? null : input.substring(0, start);
-                suffix = end == input.length() ? null : input.substring(end);
-                if (prefix != null) {
-                    processPlaceholders(prefix, replacements, safeInput);
+            String text = expansion.text;
+            Expansion match = null;
+            for (int i = expansion.firstReplacement; i < replacements.size(); i++) {
+                Matcher matcher = replacements.get(i).getKey().matcher(text);
+                if (matcher.find()) {
+                    match = new Expansion(matcher, i, expansion);
+                    break;
                 }
+            }
 
-                Object replacement = replacementEntry.getValue().apply(matcher);
-                if (replacement instanceof Color) {
-                    // Convert java.awt.Color to TextColor
-                    Color color = (Color) replacement;
-                    replacement = TextColor.color(color.getRed(), color.getGreen(), color.getBlue());
-                }
+            if (match == null) {
+                parseText(text, expansion.safeInput);
+                continue;
+            }
 
-                if (replacement instanceof ComponentLike) {
-                    appendContent(false, true);
-                    ctx.builders.add(replacement instanceof BuildableComponent
-                                 ? ((BuildableComponent<?, ?>) replacement).toBuilder()
-                                 : Component.text().append((ComponentLike) replacement)
-                    );
-                    appendContent(true);
+            if (!ctx.newChild.get()) {
+                // Clear up the existing text buffer first
+                appendContent(false);
+            }
 
-                    anyMatch = true;
-                } else if (replacement instanceof TextFormat || replacement instanceof Style) {
-                    addIfNotEmpty(ctx.current, ctx.builders);
-                    ctx.current = Component.text();
-                    ctx.newChild.set(true);
-
-                    if (replacement instanceof TextColor || replacement instanceof Style) {
-                        TextColor color;
-                        if (replacement instanceof Style) {
-                            Style style = (Style) replacement;
-                            ctx.current.style(style);
-                            color = style.color();
-                        } else {
-                            color = (TextColor) replacement;
-                            ctx.current.color(color);
-                        }
-                        if (color != null && colorResets) {
-                            ctx.builders.add(ctx.current);
-                            ctx.rootBuilder.append(collapse(ctx.builders));
-                            ctx.builders.clear();
-                        }
+            int start = match.matcher.start();
+            int end = match.matcher.end();
+            if (end != text.length()) {
+                work.push(expansion.withText(text.substring(end)));
+            }
+            work.push(match);
+            if (start != 0) {
+                work.push(expansion.withText(text.substring(0, start)));
+            }
+        }
+    }
 
-                        anyMatch = true;
-                        break;
-                    } else if (replacement instanceof TextDecoration) {
-                        ctx.current.decorate((TextDecoration) replacement);
+    /**
+     * Applies a replacement to a match.
+     * @return the length of the text added to the work
+     */
+    private int replace(Expansion match, List<Pair<Pattern, Function<Matcher, Object>>> replacements, int replacedLength, Deque<Expansion> work) {
+        Expansion parent = match.parent;
+        String matched = match.matched;
+        // Matches in the input have a depth of 1, the limits are for replacing replacement output again
+        boolean inReplacement = match.depth > 1;
+        if (inReplacement && (match.depth - 1 > maxReplacementDepth || replacedLength >= maxReplacementLength)
+                || parent.isExpansionOf(match.replacement, matched)) {
+            // Too deep, too long or the match came from replacing the same text: leave it as is
+            work.push(new Expansion(matched, replacements.size(), parent.safeInput, null));
+            return 0;
+        }
 
-                        anyMatch = true;
-                        break;
+        Object replacement = replacements.get(match.replacement).getValue().apply(match.matcher);
+        if (replacement instanceof Color) {
+            // Convert java.awt.Color to TextColor
+            Color color = (Color) replacement;
+            replacement = TextColor.color(color.getRed(), color.getGreen(), color.getBlue());
+        }
+
+        if (replacement instanceof ComponentLike) {
+            appendComponent((ComponentLike) replacement);
+            return 0;
+        }
+
+        if (replacement instanceof TextFormat || replacement instanceof Style) {
+            addIfNotEmpty(ctx.current, ctx.chain);
+            ctx.current = new Span();
+            ctx.newChild.set(true);
+
+            if (replacement instanceof TextColor || replacement instanceof Style) {
+                TextColor color;
+                if (replacement instanceof Style) {
+                    Style style = (Style) replacement;
+                    if (downsampleColors) {
+                        style = NamedColors.nearest(style);
                     }
-                    throw new IllegalStateException("Unknown TextFormat or Style: " + replacement.getClass().getName());
+                    ctx.current.style = style;
+                    color = style.color();
                 } else {
-                    String replaceWith = String.valueOf(replacement);
-
-                    List<Pair<Pattern, Function<Matcher, Object>>> newReplacements;
-                    switch (recursiveReplacement) {
-                        default:
-                        case NO:
-                            newReplacements = Collections.emptyList();
-                            break;
-                        case YES:
-                            newReplacements = replacements;
-                            break;
-                        case ONLY_FOLLOWING:
-                            int size = replacements.size();
-                            if (size == i + 1) {
-                                newReplacements = Collections.emptyList();
-                            } else {
-                                newReplacements = replacements.subList(i + 1, size);
-                            }
-                            break;
+                    color = (TextColor) replacement;
+                    if (downsampleColors) {
+                        color = NamedColors.nearest(color);
                     }
-
-                    processPlaceholders(replaceWith, newReplacements, replacement instanceof EnhancedLegacyTextSafeInput);
-                    anyMatch = true;
+                    ctx.current.style = ctx.current.style.color(color);
+                }
+                if (color != null && colorResets) {
+                    Span current = ctx.current;
+                    ctx.chain.add(current);
+                    ctx.root.append(collapse(ctx.chain));
+                    ctx.chain.clear();
+
+                    // Continue with the same style, the span in the output is final
+                    ctx.current = new Span();
+                    ctx.current.style = current.style;
                 }
+                return 0;
+            } else if (replacement instanceof TextDecoration) {
+                ctx.current.style = ctx.current.style.decoration((TextDecoration) replacement, true);
+                return 0;
+            }
+            throw new IllegalStateException("Unknown TextFormat or Style: " + replacement.getClass().getName());
+        }
+
+        String replaceWith = String.valueOf(replacement);
+
+        int firstReplacement;
+        switch (recursiveReplacement) {
+            default:
+            case NO:
+                firstReplacement = replacements.size();
                 break;
+            case YES:
+                firstReplacement = parent.firstReplacement;
+                break;
+            case ONLY_FOLLOWING:
+                firstReplacement = match.replacement + 1;
+                break;
+        }
+
+        work.push(new Expansion(replaceWith, firstReplacement, replacement instanceof EnhancedLegacyTextSafeInput, match));
+        return replaceWith.length();
+    }
+
+    private void parseText(String input, boolean safeInput) {
+        if (safeInput || allPlaceholderOutputIsSafeInput) {
+            parseText(input);
+            return;
+        }
+
+        if (ctx.squareBracketStatus == NONE && !ctx.color && !ctx.gradientDelimiter) {
+            // Escaped characters are always content in this state, append all of it at once
+            appendLiteral(input, 0, input.length());
+            return;
+        }
+
+        for (int i = 0; i < input.length(); i++) {
+            ctx.escape = true; // Escape every character (prevents starting & ending any styling)
+            parseCharacter(input.charAt(i));
+        }
+    }
+
+    /**
+     * Diagnostics and counts collected while validating.
+     */
+    private static class Validating {
+
+        private final int inputLength;
+        private final Set<Validation.Diagnostic> diagnostics = new LinkedHashSet<>();
+        private int componentCount;
+        private int gradientCharacters;
+        private int placeholders;
+
+        Validating(int inputLength) {
+            this.inputLength = inputLength;
+        }
+
+        /**
+         * Reports the formatting in the rollback buffer as a problem found at the given offset.
+         */
+        void report(Validation.Kind kind, ParseContext context, int offset) {
+            int[] offsets = context.rollbackOffsets(0);
+            int start = offsets != null && offsets.length > 0 ? offsets[0] : offset;
+            int end = kind == Validation.Kind.UNTERMINATED ? inputLength : offset + 1;
+            diagnostics.add(new Validation.Diagnostic(kind, start, Math.max(start + 1, end)));
+        }
+
+        Validation finish() {
+            return new Validation(new ArrayList<>(diagnostics), componentCount, gradientCharacters, placeholders);
+        }
+
+        /**
+         * The amount of components the spans would be turned into, see {@link Span#toComponent(CharSequence, boolean)}.
+         */
+        static int componentCount(Span root) {
+            if (root.children == null) {
+                return 0;
+            }
+
+            int count = 0, children = 0;
+            for (Span child : root.children) {
+                int childCount = count(child);
+                if (childCount != 0) {
+                    count += childCount;
+                    children++;
+                }
             }
+            // More than one child is wrapped in an empty component
+            return children > 1 ? count + 1 : count;
         }
 
-        if (!anyMatch) {
-            if (safeInput || allPlaceholderOutputIsSafeInput) {
-                for (char c : input.toCharArray()) {
-                    parseCharacter(c);
+        private static int count(Span span) {
+            int count = 0;
+            if (span.children != null) {
+                for (Span child : span.children) {
+                    count += count(child);
                 }
-                return;
             }
+            if (count != 0 || span.component != null || span.hasContent() || !span.style.isEmpty()) {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Text waiting for replacements, or a match waiting to be replaced.
+     */
+    private static class Expansion {
+
+        // Text
+        private final String text;
+        private final int firstReplacement;
+        private final boolean safeInput;
+
+        // Match, the matched text is kept since the matcher is given to the replacement function
+        private final Matcher matcher;
+        private final String matched;
+        private final int replacement;
+
+        // The match that the text is the replacement of, or the text the match is in
+        private final Expansion parent;
+        private final int depth;
+
+        Expansion(String text, int firstReplacement, boolean safeInput, Expansion parent) {
+            this.text = text;
+            this.firstReplacement = firstReplacement;
+            this.safeInput = safeInput;
+            this.matcher = null;
+            this.matched = null;
+            this.replacement = -1;
+            this.parent = parent;
+            this.depth = parent != null ? parent.depth : 0;
+        }
+
+        Expansion(Matcher matcher, int replacement, Expansion parent) {
+            this.text = null;
+            this.firstReplacement = -1;
+            this.safeInput = false;
+            this.matcher = matcher;
+            this.matched = matcher.group();
+            this.replacement = replacement;
+            this.parent = parent;
+            this.depth = parent.depth + 1;
+        }
+
+        Expansion withText(String text) {
+            return new Expansion(text, firstReplacement, safeInput, parent);
+        }
 
-            for (char c : input.toCharArray()) {
-                ctx.escape = true; // Escape every character (prevents starting & ending any styling)
-                parseCharacter(c);
+        /**
+         * If this text came from replacing the given match, directly or through other replacements.
+         */
+        boolean isExpansionOf(int replacement, String matched) {
+            for (Expansion text = this; text.parent != null; text = text.parent.parent) {
+                Expansion match = text.parent;
+                if (match.replacement == replacement && match.matched.equals(matched)) {
+                    return true;
+                }
             }
-        } else if (suffix != null) {
-            processPlaceholders(suffix, replacements, safeInput);
+            return false;
         }
     }
 
-    private void addIfNotEmpty(TextComponent.Builder current, List<ComponentBuilder<?, ?>> builders) {
-        if (current.build().equals(Component.empty())) { // Easiest way to tell
+    private void addIfNotEmpty(Span current, List<Span> chain) {
+        if (current.isEmpty()) {
             return;
         }
-        builders.add(current);
+        chain.add(current);
     }
 
-    private ComponentBuilder<?, ?> collapse(List<ComponentBuilder<?, ?>> builders) {
-        Collections.reverse(builders);
-
-        ComponentBuilder<?, ?> last = null;
-        for (ComponentBuilder<?, ?> current : builders) {
-            if (last != null) {
-                current.append(last);
-            }
-            last = current;
+    private Span collapse(List<Span> chain) {
+        // Each span is a child of the span before it
+        Span previous = chain.get(0);
+        for (int i = 1; i < chain.size(); i++) {
+            Span current = chain.get(i);
+            previous.append(current);
+            previous = current;
         }
-        return last != null ? last : Component.text();
+        return chain.get(0);
     }
 }
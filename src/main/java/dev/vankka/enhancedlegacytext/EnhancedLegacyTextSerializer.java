@@ -0,0 +1,428 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.format.TextFormat;
+import net.kyori.adventure.text.serializer.ComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Serializes {@link Component}s into the enhanced legacy format of an {@link EnhancedLegacyText} instance,
+ * and deserializes with {@link EnhancedLegacyText#parse(String)}.
+ *
+ * Gradients in the format the parser outputs are collapsed back to {@code {...}}.
+ * Only text content is kept, non-text components are serialized as their children.
+ * Formatting that can't be written with the instance's options and {@link SyntaxDialect} is left out.
+ */
+@SuppressWarnings("unused") // API
+public final class EnhancedLegacyTextSerializer implements ComponentSerializer<Component, Component, String> {
+
+    private static final int NO_COLOR = -1;
+    private static final int UNKNOWN_COLOR = -2;
+    private static final int MAX_GRADIENT_REGIONS = 8;
+    private static final TextDecoration[] DECORATIONS = TextDecoration.values();
+    private static final Map<Integer, Character> LEGACY_COLORS = new HashMap<>();
+    private static final char[] LEGACY_DECORATIONS = new char[DECORATIONS.length];
+
+    static {
+        for (Map.Entry<Character, TextFormat> entry : Colors.LEGACY.entrySet()) {
+            TextFormat format = entry.getValue();
+            if (format instanceof TextColor) {
+                LEGACY_COLORS.put(((TextColor) format).value(), entry.getKey());
+            } else if (format instanceof TextDecoration) {
+                LEGACY_DECORATIONS[((TextDecoration) format).ordinal()] = entry.getKey();
+            }
+        }
+    }
+
+    private final EnhancedLegacyText enhancedLegacyText;
+    private final char colorChar;
+    private final SyntaxDialect syntax;
+    private final boolean colorResets;
+    private final boolean legacy;
+    private final boolean adventureHex;
+    private final GradientColorSpace gradientColorSpace;
+
+    EnhancedLegacyTextSerializer(
+            EnhancedLegacyText enhancedLegacyText,
+            char colorChar,
+            SyntaxDialect syntax,
+            boolean colorResets,
+            boolean legacy,
+            boolean adventureHex,
+            GradientColorSpace gradientColorSpace
+    ) {
+        this.enhancedLegacyText = enhancedLegacyText;
+        this.colorChar = colorChar;
+        this.syntax = syntax;
+        this.colorResets = colorResets;
+        this.legacy = legacy;
+        this.adventureHex = adventureHex;
+        this.gradientColorSpace = gradientColorSpace;
+    }
+
+    @Override
+    public @NotNull Component deserialize(@NotNull String input) {
+        return enhancedLegacyText.parse(input);
+    }
+
+    @Override
+    public @NotNull String serialize(@NotNull Component component) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            serialize(component, builder);
+        } catch (IOException e) {
+            // StringBuilder doesn't throw
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Serializes the component into the given {@link Appendable}.
+     * @param component the component to serialize
+     * @param output where to write the serialized text
+     * @throws IOException if writing to the output fails
+     */
+    public void serialize(@NotNull Component component, @NotNull Appendable output) throws IOException {
+        new Writer(output, false).component(component, NO_COLOR, 0, null, null, null);
+    }
+
+    /**
+     * Writes the source while keeping track of the style the parser will be in at the current position.
+     */
+    private class Writer {
+
+        private final Appendable output;
+        private final boolean hover;
+
+        private int color = NO_COLOR;
+        private int decorations;
+        private ClickEvent clickEvent;
+        private HoverEvent<?> hoverEvent;
+        private String insertion;
+
+        // If text has been written since the parser last finished a component
+        private boolean pending;
+
+        Writer(Appendable output, boolean hover) {
+            this.output = output;
+            this.hover = hover;
+        }
+
+        void component(Component component, int color, int decorations, ClickEvent click, HoverEvent<?> hover, String insertion) throws IOException {
+            Style style = component.style();
+            if (style.color() != null) {
+                color = style.color().value();
+            }
+            decorations = Colors.decorations(style, decorations);
+            if (style.clickEvent() != null) {
+                click = style.clickEvent();
+            }
+            if (style.hoverEvent() != null) {
+                hover = style.hoverEvent();
+            }
+            if (style.insertion() != null) {
+                insertion = style.insertion();
+            }
+
+            List<Component> children = component.children();
+            if (component instanceof TextComponent) {
+                String content = ((TextComponent) component).content();
+                if (content.isEmpty() && gradient(children, decorations, click, hover, insertion)) {
+                    return;
+                }
+                if (!content.isEmpty()) {
+                    transition(color, decorations, click, hover, insertion);
+                    text(content);
+                }
+            }
+
+            for (Component child : children) {
+                component(child, color, decorations, click, hover, insertion);
+            }
+        }
+
+        private boolean gradient(List<Component> children, int decorations, ClickEvent click, HoverEvent<?> hover, String insertion) throws IOException {
+            int length = children.size();
+            if (length < 2 || !syntax.isGradients()) {
+                return false;
+            }
+
+            // Single colored characters without any other styling, like gradients are parsed
+            int[] colors = new int[length];
+            StringBuilder content = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                Component child = children.get(i);
+                if (!(child instanceof TextComponent) || !child.children().isEmpty()) {
+                    return false;
+                }
+                String childContent = ((TextComponent) child).content();
+                TextColor color = child.color();
+                if (childContent.length() != 1 || color == null || !Style.style(color).equals(child.style())) {
+                    return false;
+                }
+                colors[i] = color.value();
+                content.append(childContent);
+            }
+
+            int[] stops = gradientStops(colors);
+            if (stops == null) {
+                return false;
+            }
+            for (int stop : stops) {
+                if (!syntax.isSquareBrackets() && !adventureHex && LEGACY_COLORS.get(stop) == null) {
+                    return false;
+                }
+            }
+
+            transition(UNKNOWN_COLOR, decorations, click, hover, insertion);
+            output.append(syntax.gradientStart());
+            for (int i = 0; i < stops.length; i++) {
+                if (i != 0) {
+                    output.append(syntax.gradientDelimiter());
+                }
+                if (syntax.isSquareBrackets()) {
+                    hexTag(stops[i]);
+                } else if (adventureHex) {
+                    output.append(colorChar).append(syntax.hexCharacter()).append(hex(stops[i]));
+                } else {
+                    output.append(colorChar).append(LEGACY_COLORS.get(stops[i]));
+                }
+            }
+            output.append(syntax.gradientEnd());
+            text(content);
+
+            // The gradient's text is only finished by the next change
+            this.color = UNKNOWN_COLOR;
+            return true;
+        }
+
+        private int[] gradientStops(int[] colors) {
+            int divisor = colors.length - 1;
+            int maxRegions = Math.min(divisor, MAX_GRADIENT_REGIONS);
+            for (int regions = 1; regions <= maxRegions; regions++) {
+                if (divisor % regions != 0) {
+                    continue;
+                }
+
+                int[] stops = new int[regions + 1];
+                for (int i = 0; i <= regions; i++) {
+                    stops[i] = colors[i * divisor / regions];
+                }
+
+                Gradient gradient = new Gradient(stops, colors.length, gradientColorSpace);
+                boolean matches = true;
+                for (int i = 0; i < colors.length; i++) {
+                    if (gradient.color(i) != colors[i]) {
+                        matches = false;
+                        break;
+                    }
+                }
+                if (matches) {
+                    return stops;
+                }
+            }
+            return null;
+        }
+
+        private void transition(int color, int decorations, ClickEvent click, HoverEvent<?> hover, String insertion) throws IOException {
+            if (!syntax.isSquareBrackets()) {
+                // Events and insertions are only in square brackets
+                click = null;
+                hover = null;
+                insertion = null;
+            } else if (this.hover) {
+                // Events are not allowed inside hover text
+                click = null;
+                hover = null;
+            } else {
+                if (click != null && click.action() == ClickEvent.Action.OPEN_FILE) {
+                    click = null;
+                }
+                if (hover != null && hover.action() != HoverEvent.Action.SHOW_TEXT) {
+                    hover = null;
+                }
+            }
+            if (insertion != null && insertion.isEmpty()) {
+                insertion = null;
+            }
+
+            if (color == NO_COLOR && this.color != NO_COLOR) {
+                // Colors can only be removed by finishing the current component chain
+                if (legacy) {
+                    output.append(colorChar).append('r');
+                    this.clickEvent = null;
+                    this.hoverEvent = null;
+                    finishChain();
+                } else if (syntax.isSquareBrackets()) {
+                    tag("insert");
+                    this.insertion = null;
+                    finishChain();
+                }
+            }
+
+            if (!Objects.equals(this.hoverEvent, hover)) {
+                if (hover == null) {
+                    tag("hover");
+                    finishChain();
+                } else {
+                    tagStart("hover");
+                    output.append("show_text").append(syntax.squareBracketDelimiter());
+                    new Writer(output, true).component((Component) hover.value(), NO_COLOR, 0, null, null, null);
+                    output.append(syntax.squareBracketEnd());
+                    finishChainIfPending();
+                }
+                this.hoverEvent = hover;
+            }
+            if (!Objects.equals(this.clickEvent, click)) {
+                if (click == null) {
+                    tag("click");
+                    finishChain();
+                } else {
+                    tagStart("click");
+                    output.append(click.action().name().toLowerCase(Locale.ROOT)).append(syntax.squareBracketDelimiter());
+                    value(click.value());
+                    output.append(syntax.squareBracketEnd());
+                    finishChainIfPending();
+                }
+                this.clickEvent = click;
+            }
+            if (!Objects.equals(this.insertion, insertion)) {
+                if (insertion == null) {
+                    tag("insert");
+                    finishChain();
+                } else {
+                    tagStart("insert");
+                    value(insertion);
+                    output.append(syntax.squareBracketEnd());
+                    finishChainIfPending();
+                }
+                this.insertion = insertion;
+            }
+
+            if (color >= 0 && color != this.color) {
+                Character legacyColor = legacy ? LEGACY_COLORS.get(color) : null;
+                if (legacyColor != null) {
+                    output.append(colorChar).append(legacyColor);
+                } else if (adventureHex) {
+                    output.append(colorChar).append(syntax.hexCharacter()).append(hex(color));
+                } else if (syntax.isSquareBrackets()) {
+                    hexTag(color);
+                }
+                if (colorResets) {
+                    this.decorations = 0;
+                }
+                this.color = color;
+                this.pending = false;
+            }
+
+            int changed = decorations ^ this.decorations;
+            if (changed != 0) {
+                for (TextDecoration decoration : DECORATIONS) {
+                    int bit = 1 << decoration.ordinal();
+                    if ((changed & bit) == 0) {
+                        continue;
+                    }
+
+                    boolean state = (decorations & bit) != 0;
+                    if (state && legacy) {
+                        output.append(colorChar).append(LEGACY_DECORATIONS[decoration.ordinal()]);
+                    } else if (syntax.isSquareBrackets()) {
+                        tagStart(decoration.name().toLowerCase(Locale.ROOT));
+                        output.append(String.valueOf(state)).append(syntax.squareBracketEnd());
+                    }
+                }
+                this.decorations = decorations;
+                this.pending = false;
+            }
+        }
+
+        private void tag(String name) throws IOException {
+            output.append(syntax.squareBracketStart()).append(name).append(syntax.squareBracketEnd());
+        }
+
+        private void tagStart(String name) throws IOException {
+            output.append(syntax.squareBracketStart()).append(name).append(syntax.squareBracketDelimiter());
+        }
+
+        private void hexTag(int color) throws IOException {
+            output.append(syntax.squareBracketStart()).append(syntax.hexCharacter()).append(hex(color)).append(syntax.squareBracketEnd());
+        }
+
+        private void finishChain() {
+            color = NO_COLOR;
+            decorations = 0;
+            pending = false;
+        }
+
+        private void finishChainIfPending() {
+            if (pending) {
+                finishChain();
+            }
+        }
+
+        private void text(CharSequence text) throws IOException {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (syntax.isEscapes() && EnhancedLegacyTextParser.isControlCharacter(c, colorChar, syntax)) {
+                    output.append(syntax.escapeCharacter());
+                }
+                output.append(c);
+            }
+            pending = true;
+        }
+
+        private void value(String value) throws IOException {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (syntax.isEscapes() && (c == syntax.escapeCharacter() || c == syntax.squareBracketEnd())) {
+                    output.append(syntax.escapeCharacter());
+                }
+                output.append(c);
+            }
+        }
+    }
+
+    private static String hex(int rgb) {
+        String hex = Integer.toHexString(rgb & 0xFFFFFF);
+        return "000000".substring(hex.length()) + hex;
+    }
+}
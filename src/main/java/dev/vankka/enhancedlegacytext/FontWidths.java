@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.Arrays;
+
+/**
+ * Character advances of Minecraft's default font, in pixels including the 1 pixel spacing after each character.
+ * Bold characters are 1 pixel wider. Characters outside of ASCII are given the width of most letters.
+ */
+final class FontWidths {
+
+    static final int DEFAULT_ADVANCE = 6;
+    private static final byte[] ASCII = new byte[128];
+
+    static {
+        Arrays.fill(ASCII, (byte) DEFAULT_ADVANCE);
+        for (char c = 0; c < ' '; c++) {
+            ASCII[c] = 0;
+        }
+        ASCII[127] = 0;
+        set(2, "!',.:;il|");
+        set(3, "`");
+        set(4, " \"I[]");
+        set(5, "()<>fkt{}");
+        set(7, "@");
+    }
+
+    private static void set(int advance, String characters) {
+        for (int i = 0; i < characters.length(); i++) {
+            ASCII[characters.charAt(i)] = (byte) advance;
+        }
+    }
+
+    private FontWidths() {}
+
+    static int advance(int codePoint, boolean bold) {
+        int advance = codePoint < ASCII.length ? ASCII[codePoint] : DEFAULT_ADVANCE;
+        return bold && advance != 0 ? advance + 1 : advance;
+    }
+
+    static boolean isBold(Style style, boolean parentBold) {
+        TextDecoration.State state = style.decoration(TextDecoration.BOLD);
+        return state == TextDecoration.State.NOT_SET ? parentBold : state == TextDecoration.State.TRUE;
+    }
+
+    /**
+     * Accumulates the visible length and width of text.
+     */
+    static class Measure {
+
+        int length;
+        int width;
+
+        void text(CharSequence text, int start, int end, boolean bold) {
+            int length = 0, width = 0;
+            for (int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    width += advance(Character.toCodePoint(c, text.charAt(++i)), bold);
+                } else {
+                    width += advance(c, bold);
+                }
+                length++;
+            }
+            this.length += length;
+            this.width += width;
+        }
+
+        void span(Span span, CharSequence text, boolean bold) {
+            bold = isBold(span.style, bold);
+            if (span.component != null) {
+                component(span.component, bold);
+                // Children of embedded components inherit the component's style
+                bold = isBold(span.component.style(), bold);
+            } else if (span.start != span.end) {
+                text(text, span.start, span.end, bold);
+            }
+            if (span.children != null) {
+                for (Span child : span.children) {
+                    span(child, text, bold);
+                }
+            }
+        }
+
+        void component(Component component, boolean bold) {
+            bold = isBold(component.style(), bold);
+            if (component instanceof TextComponent) {
+                String content = ((TextComponent) component).content();
+                text(content, 0, content.length(), bold);
+            }
+            for (Component child : component.children()) {
+                component(child, bold);
+            }
+        }
+    }
+}
@@ -24,47 +24,219 @@
 
 package dev.vankka.enhancedlegacytext;
 
-import net.kyori.adventure.text.format.TextColor;
-
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * A gradient over packed rgb integers, colors are computed one character at a time in constant time.
+ */
 class Gradient {
 
-    private final List<TextColor> colors;
-    private final int length;
+    // Interpolated colors between two stops, for color spaces other than sRGB
+    private static final int LOOKUP_STEPS = 256;
+    private static final int MAX_LOOKUP_TABLES = 4096;
+    private static final Map<Long, int[]> LOOKUP_TABLES = new ConcurrentHashMap<>();
+
+    // sRGB transfer function, per 8-bit channel value
+    private static final float[] TO_LINEAR = new float[256];
+
+    static {
+        for (int i = 0; i < TO_LINEAR.length; i++) {
+            float value = i / 255f;
+            TO_LINEAR[i] = value <= 0.04045f ? value / 12.92f : (float) Math.pow((value + 0.055f) / 1.055f, 2.4f);
+        }
+    }
+
+    private final int[] colors;
+    private final GradientColorSpace colorSpace;
+    private final int regions;
+    private final int divisor;
+    private final int[][] lookupTables;
 
-    public Gradient(List<TextColor> colors, int length) {
+    public Gradient(int[] colors, int length, GradientColorSpace colorSpace) {
         this.colors = colors;
-        this.length = length;
+        this.colorSpace = colorSpace;
+        this.regions = colors.length - 1;
+        this.divisor = Math.max(length - 1, 1);
+
+        if (colorSpace != GradientColorSpace.SRGB) {
+            lookupTables = new int[regions][];
+            for (int region = 0; region < regions; region++) {
+                lookupTables[region] = lookupTable(colorSpace, colors[region], colors[region + 1]);
+            }
+        } else {
+            lookupTables = null;
+        }
     }
 
-    public List<TextColor> colors() {
-        int regions = colors.size() - 1;
+    /**
+     * Gets the color for the character at the given index.
+     * @param index the index of the character
+     * @return the color as a packed rgb integer
+     */
+    public int color(int index) {
+        // Fixed point position: index / (length - 1) * regions = region + step / divisor
+        long position = (long) index * regions;
+        int region = (int) (position / divisor);
+        if (region >= regions) {
+            // final color
+            return colors[regions];
+        }
+        long step = position - (long) region * divisor;
+
+        if (lookupTables != null) {
+            int lookup = (int) ((step * LOOKUP_STEPS + divisor / 2) / divisor);
+            return lookupTables[region][lookup];
+        }
+
+        int start = colors[region];
+        int end = colors[region + 1];
+        long remaining = divisor - step;
+        int r = (int) ((((start >> 16) & 0xFF) * remaining + ((end >> 16) & 0xFF) * step) / divisor);
+        int g = (int) ((((start >> 8) & 0xFF) * remaining + ((end >> 8) & 0xFF) * step) / divisor);
+        int b = (int) (((start & 0xFF) * remaining + (end & 0xFF) * step) / divisor);
+        return (r << 16) | (g << 8) | b;
+    }
 
-        float perRegion = (length - 1) / (float) regions;
+    private static int[] lookupTable(GradientColorSpace colorSpace, int start, int end) {
+        long key = ((long) colorSpace.ordinal() << 48) | ((long) start << 24) | end;
+        int[] table = LOOKUP_TABLES.get(key);
+        if (table != null) {
+            return table;
+        }
 
-        List<TextColor> textColors = new ArrayList<>(length);
-        for (float i = 0; i < length; i++) {
-            int region = (int) Math.floor(i / perRegion);
-            if (region == regions) {
-                // final color
-                textColors.add(colors.get(region));
-                continue;
+        float[] from = toSpace(colorSpace, start);
+        float[] to = toSpace(colorSpace, end);
+        if (colorSpace == GradientColorSpace.HSV) {
+            // Shortest way around the hue circle
+            if (to[0] - from[0] > 0.5f) {
+                from[0] += 1f;
+            } else if (from[0] - to[0] > 0.5f) {
+                to[0] += 1f;
             }
+        }
 
-            float percentage = (i - (perRegion * (float) region)) / perRegion;
+        table = new int[LOOKUP_STEPS + 1];
+        float[] value = new float[3];
+        for (int i = 0; i <= LOOKUP_STEPS; i++) {
+            float percentage = i / (float) LOOKUP_STEPS;
+            for (int j = 0; j < 3; j++) {
+                value[j] = from[j] * (1f - percentage) + to[j] * percentage;
+            }
+            table[i] = fromSpace(colorSpace, value);
+        }
+        table[0] = start;
+        table[LOOKUP_STEPS] = end;
 
-            TextColor start = colors.get(region);
-            TextColor end = colors.get(region + 1);
+        if (LOOKUP_TABLES.size() >= MAX_LOOKUP_TABLES) {
+            LOOKUP_TABLES.clear();
+        }
+        LOOKUP_TABLES.put(key, table);
+        return table;
+    }
+
+    private static float[] toSpace(GradientColorSpace colorSpace, int rgb) {
+        int r = (rgb >> 16) & 0xFF;
+        int g = (rgb >> 8) & 0xFF;
+        int b = rgb & 0xFF;
+
+        switch (colorSpace) {
+            case LINEAR_RGB:
+                return new float[] {TO_LINEAR[r], TO_LINEAR[g], TO_LINEAR[b]};
+            case OKLAB: {
+                float lr = TO_LINEAR[r];
+                float lg = TO_LINEAR[g];
+                float lb = TO_LINEAR[b];
 
-            int r = (int) (start.red() * (1f - percentage) + end.red() * percentage);
-            int g = (int) (start.green() * (1f - percentage) + end.green() * percentage);
-            int b = (int) (start.blue() * (1f - percentage) + end.blue() * percentage);
+                float l = (float) Math.cbrt(0.4122214708f * lr + 0.5363325363f * lg + 0.0514459929f * lb);
+                float m = (float) Math.cbrt(0.2119034982f * lr + 0.6806995451f * lg + 0.1073969566f * lb);
+                float s = (float) Math.cbrt(0.0883024619f * lr + 0.2817188376f * lg + 0.6299787005f * lb);
+
+                return new float[] {
+                        0.2104542553f * l + 0.7936177850f * m - 0.0040720468f * s,
+                        1.9779984951f * l - 2.4285922050f * m + 0.4505937099f * s,
+                        0.0259040371f * l + 0.7827717662f * m - 0.8086757660f * s
+                };
+            }
+            case HSV: {
+                int max = Math.max(r, Math.max(g, b));
+                int delta = max - Math.min(r, Math.min(g, b));
 
-            textColors.add(TextColor.color(r, g, b));
+                float hue = 0;
+                if (delta != 0) {
+                    if (max == r) {
+                        hue = (g - b) / (float) delta;
+                    } else if (max == g) {
+                        hue = 2 + (b - r) / (float) delta;
+                    } else {
+                        hue = 4 + (r - g) / (float) delta;
+                    }
+                    hue /= 6;
+                    if (hue < 0) {
+                        hue += 1;
+                    }
+                }
+                return new float[] {hue, max == 0 ? 0 : delta / (float) max, max / 255f};
+            }
+            default:
+                throw new IllegalArgumentException("No lookup tables for " + colorSpace);
         }
+    }
+
+    private static int fromSpace(GradientColorSpace colorSpace, float[] value) {
+        switch (colorSpace) {
+            case LINEAR_RGB:
+                return pack(fromLinear(value[0]), fromLinear(value[1]), fromLinear(value[2]));
+            case OKLAB: {
+                float l = value[0] + 0.3963377774f * value[1] + 0.2158037573f * value[2];
+                float m = value[0] - 0.1055613458f * value[1] - 0.0638541728f * value[2];
+                float s = value[0] - 0.0894841775f * value[1] - 1.2914855480f * value[2];
+                l = l * l * l;
+                m = m * m * m;
+                s = s * s * s;
+
+                return pack(
+                        fromLinear(4.0767416621f * l - 3.3077115913f * m + 0.2309699292f * s),
+                        fromLinear(-1.2684380046f * l + 2.6097574011f * m - 0.3413193965f * s),
+                        fromLinear(-0.0041960863f * l - 0.7034186147f * m + 1.7076147010f * s)
+                );
+            }
+            case HSV: {
+                float hue = (value[0] % 1f) * 6;
+                float saturation = value[1];
+                float brightness = value[2];
+
+                int sector = (int) hue;
+                float fraction = hue - sector;
+                float p = brightness * (1 - saturation);
+                float q = brightness * (1 - saturation * fraction);
+                float t = brightness * (1 - saturation * (1 - fraction));
+                switch (sector) {
+                    case 0: return pack(brightness, t, p);
+                    case 1: return pack(q, brightness, p);
+                    case 2: return pack(p, brightness, t);
+                    case 3: return pack(p, q, brightness);
+                    case 4: return pack(t, p, brightness);
+                    default: return pack(brightness, p, q);
+                }
+            }
+            default:
+                throw new IllegalArgumentException("No lookup tables for " + colorSpace);
+        }
+    }
+
+    private static float fromLinear(float value) {
+        if (value <= 0.0031308f) {
+            return 12.92f * value;
+        }
+        return 1.055f * (float) Math.pow(value, 1 / 2.4f) - 0.055f;
+    }
+
+    private static int pack(float r, float g, float b) {
+        return (channel(r) << 16) | (channel(g) << 8) | channel(b);
+    }
 
-        return textColors;
+    private static int channel(float value) {
+        return Math.max(0, Math.min(255, Math.round(value * 255f)));
     }
 }
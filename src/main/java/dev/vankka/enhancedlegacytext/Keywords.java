@@ -0,0 +1,270 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import dev.vankka.enhancedlegacytext.ParseContext.SquareBracketStatus;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A precomputed character trie of every keyword used inside square brackets,
+ * walked one character at a time without allocating.
+ * Custom tags are compiled into the same trie as the built-in keywords.
+ */
+final class Keywords {
+
+    static final int ROOT = 0;
+    static final int NO_MATCH = -1;
+
+    // Keyword kinds
+    static final int TAG = 1;
+    static final int DECORATION = 1 << 1;
+    static final int MINECRAFT_COLOR = 1 << 2;
+    static final int CSS_COLOR = 1 << 3;
+    static final int NAMESPACE = 1 << 4;
+    static final int CLICK_ACTION = 1 << 5;
+    static final int HOVER_ACTION = 1 << 6;
+    static final int BOOLEAN = 1 << 7;
+
+    static final Keywords BUILT_IN = new Keywords(Collections.emptyMap());
+
+    // Node n has the edges edgeStart[n] until edgeStart[n + 1], sorted by character
+    private final int[] edgeStart;
+    private final char[] edgeCharacter;
+    private final int[] edgeTarget;
+
+    // The kinds of keywords that can still be reached from a node
+    private final int[] reachable;
+    private final Keyword[] keywords;
+
+    Keywords(Map<String, TagHandler> tags) {
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Keyword> keywords = new ArrayList<>();
+        children.add(new TreeMap<>());
+        keywords.add(null);
+
+        add(children, keywords, "color").tag = SquareBracketStatus.COLOR;
+        add(children, keywords, "click").tag = SquareBracketStatus.CLICK_TYPE;
+        add(children, keywords, "hover").tag = SquareBracketStatus.HOVER_TYPE;
+        add(children, keywords, "insert").tag = SquareBracketStatus.INSERTION;
+        add(children, keywords, "translate").tag = SquareBracketStatus.TRANSLATE;
+
+        for (TextDecoration value : TextDecoration.values()) {
+            add(children, keywords, value.name().toLowerCase(Locale.ROOT)).decoration = value;
+        }
+        add(children, keywords, "italics").decoration = TextDecoration.ITALIC;
+        add(children, keywords, "underline").decoration = TextDecoration.UNDERLINED;
+
+        for (String name : NamedTextColor.NAMES.keys()) {
+            add(children, keywords, name).minecraftColor = NamedTextColor.NAMES.value(name);
+        }
+        for (Map.Entry<String, TextColor> entry : Colors.CSS.entrySet()) {
+            add(children, keywords, entry.getKey()).cssColor = entry.getValue();
+        }
+
+        for (Namespace value : Namespace.values()) {
+            add(children, keywords, value.name().toLowerCase(Locale.ROOT)).namespace = value;
+        }
+
+        for (ClickEvent.Action value : ClickEvent.Action.values()) {
+            if (value == ClickEvent.Action.OPEN_FILE) {
+                // Client side only
+                continue;
+            }
+            add(children, keywords, value.name().toLowerCase(Locale.ROOT)).clickAction = value;
+        }
+        add(children, keywords, "show_text").hoverAction = true;
+
+        add(children, keywords, "true").state = Boolean.TRUE;
+        add(children, keywords, "on").state = Boolean.TRUE;
+        add(children, keywords, "false").state = Boolean.FALSE;
+        add(children, keywords, "off").state = Boolean.FALSE;
+
+        for (Map.Entry<String, TagHandler> entry : tags.entrySet()) {
+            Keyword keyword = add(children, keywords, entry.getKey());
+            keyword.tag = SquareBracketStatus.CUSTOM;
+            keyword.handler = entry.getValue();
+        }
+
+        int nodes = children.size();
+        int edges = nodes - 1;
+        this.edgeStart = new int[nodes + 1];
+        this.edgeCharacter = new char[edges];
+        this.edgeTarget = new int[edges];
+        this.reachable = new int[nodes];
+        this.keywords = keywords.toArray(new Keyword[0]);
+
+        int[] parent = new int[nodes];
+        int edge = 0;
+        for (int node = 0; node < nodes; node++) {
+            edgeStart[node] = edge;
+            for (Map.Entry<Character, Integer> entry : children.get(node).entrySet()) {
+                edgeCharacter[edge] = entry.getKey();
+                edgeTarget[edge] = entry.getValue();
+                parent[entry.getValue()] = node;
+                edge++;
+            }
+
+            Keyword keyword = this.keywords[node];
+            if (keyword != null) {
+                reachable[node] = keyword.kinds();
+            }
+        }
+        edgeStart[nodes] = edge;
+
+        // Children are always created after their parent
+        for (int node = nodes - 1; node > 0; node--) {
+            reachable[parent[node]] |= reachable[node];
+        }
+    }
+
+    private static Keyword add(List<Map<Character, Integer>> children, List<Keyword> keywords, String word) {
+        int node = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            Integer next = children.get(node).get(c);
+            if (next == null) {
+                next = children.size();
+                children.add(new TreeMap<>());
+                keywords.add(null);
+                children.get(node).put(c, next);
+            }
+            node = next;
+        }
+
+        Keyword keyword = keywords.get(node);
+        if (keyword == null) {
+            keyword = new Keyword();
+            keywords.set(node, keyword);
+        }
+        return keyword;
+    }
+
+    /**
+     * Moves from the given node along the given character.
+     * @param node the current node, may be {@link #NO_MATCH}
+     * @return the next node or {@link #NO_MATCH} if no keyword continues with the character
+     */
+    int next(int node, char c) {
+        if (node == NO_MATCH) {
+            return NO_MATCH;
+        }
+        for (int i = edgeStart[node], end = edgeStart[node + 1]; i < end; i++) {
+            char edge = edgeCharacter[i];
+            if (edge == c) {
+                return edgeTarget[i];
+            } else if (edge > c) {
+                break;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * If any keyword of the given kinds can still be reached from the given node.
+     */
+    boolean reaches(int node, int kinds) {
+        return node != NO_MATCH && (reachable[node] & kinds) != 0;
+    }
+
+    /**
+     * Gets the keyword ending at the given node.
+     * @return the keyword or {@code null} if there is none
+     */
+    Keyword keyword(int node) {
+        return node != NO_MATCH ? keywords[node] : null;
+    }
+
+    /**
+     * Gets the keyword for the whole word.
+     * @return the keyword or {@code null} if there is none
+     */
+    Keyword keyword(String word) {
+        int node = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            node = next(node, word.charAt(i));
+        }
+        return keyword(node);
+    }
+
+    enum Namespace {
+        MINECRAFT,
+        CSS,
+        HEX
+    }
+
+    static final class Keyword {
+
+        SquareBracketStatus tag;
+        TextDecoration decoration;
+        TextColor minecraftColor;
+        TextColor cssColor;
+        Namespace namespace;
+        ClickEvent.Action clickAction;
+        boolean hoverAction;
+        Boolean state;
+        TagHandler handler;
+
+        private Keyword() {}
+
+        int kinds() {
+            int kinds = 0;
+            if (tag != null) {
+                kinds |= TAG;
+            }
+            if (decoration != null) {
+                kinds |= DECORATION;
+            }
+            if (minecraftColor != null) {
+                kinds |= MINECRAFT_COLOR;
+            }
+            if (cssColor != null) {
+                kinds |= CSS_COLOR;
+            }
+            if (namespace != null) {
+                kinds |= NAMESPACE;
+            }
+            if (clickAction != null) {
+                kinds |= CLICK_ACTION;
+            }
+            if (hoverAction) {
+                kinds |= HOVER_ACTION;
+            }
+            if (state != null) {
+                kinds |= BOOLEAN;
+            }
+            return kinds;
+        }
+    }
+}
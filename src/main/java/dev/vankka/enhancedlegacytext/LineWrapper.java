@@ -0,0 +1,266 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wraps the parser output into lines in a single pass over the characters.
+ * Styles are resolved per character before wrapping, so each line has the full style of its text
+ * and gradients keep the colors they were given for the whole text.
+ */
+final class LineWrapper {
+
+    private final TextWrap wrap;
+    private final boolean internStyles;
+    private final List<Component> lines = new ArrayList<>();
+
+    // The current line
+    private final List<Component> line = new ArrayList<>();
+    private final StringBuilder piece = new StringBuilder();
+    private Style pieceStyle;
+    private int lineWidth;
+
+    // Spaces after the current line, kept until the next word is known to fit
+    private final Characters spaces = new Characters();
+
+    // The word being read
+    private final Characters word = new Characters();
+
+    LineWrapper(TextWrap wrap, boolean internStyles) {
+        this.wrap = wrap;
+        this.internStyles = internStyles;
+    }
+
+    List<Component> wrap(Span root, CharSequence text) {
+        span(root, text, Style.empty());
+
+        endWord();
+        if (lineHasContent() || lines.isEmpty()) {
+            endLine();
+        }
+        return lines;
+    }
+
+    private void span(Span span, CharSequence text, Style style) {
+        style = style.merge(span.style);
+        if (span.component != null) {
+            component(span.component, style);
+            // Children of embedded components inherit the component's style
+            style = style.merge(span.component.style());
+        } else {
+            text(text, span.start, span.end, style);
+        }
+        if (span.children != null) {
+            for (Span child : span.children) {
+                span(child, text, style);
+            }
+        }
+    }
+
+    private void component(Component component, Style style) {
+        style = style.merge(component.style());
+        if (!(component instanceof TextComponent)) {
+            // Other components can't be wrapped, they're placed on the line as is
+            endWord();
+            spaces.moveTo(this);
+            flushPiece();
+            line.add(component.style(style));
+            return;
+        }
+
+        String content = ((TextComponent) component).content();
+        text(content, 0, content.length(), style);
+        for (Component child : component.children()) {
+            component(child, style);
+        }
+    }
+
+    private void text(CharSequence text, int start, int end, Style style) {
+        if (start == end) {
+            return;
+        }
+        if (internStyles) {
+            style = StyleInterner.style(style);
+        }
+        boolean bold = style.decoration(TextDecoration.BOLD) == TextDecoration.State.TRUE;
+
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                endWord();
+                spaces.clear();
+                endLine();
+                continue;
+            }
+            if (c == ' ') {
+                endWord();
+                spaces.add(c, style, advance(c, bold));
+                continue;
+            }
+
+            if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                char low = text.charAt(++i);
+                word.add(c, style, advance(Character.toCodePoint(c, low), bold));
+                word.add(low, style, 0);
+            } else {
+                word.add(c, style, advance(c, bold));
+            }
+            fitWord();
+        }
+    }
+
+    private int advance(int codePoint, boolean bold) {
+        return wrap.isPixels() ? FontWidths.advance(codePoint, bold) : 1;
+    }
+
+    private void fitWord() {
+        int width = wrap.width();
+        if (lineWidth + spaces.width + word.width <= width) {
+            return;
+        }
+        spaces.clear();
+        if (lineHasContent()) {
+            // The word goes on the next line
+            endLine();
+        }
+        if (word.width <= width) {
+            return;
+        }
+
+        // The word doesn't fit on a line by itself, everything but the last character goes on this line
+        int last = word.length - 1;
+        if (Character.isLowSurrogate(word.chars[last]) && last > 0) {
+            // Low surrogate, keep the pair together
+            last--;
+        }
+        if (last == 0) {
+            return;
+        }
+        for (int i = 0; i < last; i++) {
+            add(word.chars[i], word.styles[i], word.advances[i]);
+        }
+        word.removeFirst(last);
+        endLine();
+    }
+
+    private void endWord() {
+        if (word.length == 0) {
+            return;
+        }
+        spaces.moveTo(this);
+        word.moveTo(this);
+    }
+
+    private void add(char c, Style style, int advance) {
+        if (pieceStyle != style && !style.equals(pieceStyle)) {
+            flushPiece();
+            pieceStyle = style;
+        }
+        piece.append(c);
+        lineWidth += advance;
+    }
+
+    private void flushPiece() {
+        if (piece.length() != 0) {
+            line.add(Component.text(piece.toString(), pieceStyle));
+            piece.setLength(0);
+        }
+    }
+
+    private boolean lineHasContent() {
+        return !line.isEmpty() || piece.length() != 0;
+    }
+
+    private void endLine() {
+        flushPiece();
+        pieceStyle = null;
+        if (line.isEmpty()) {
+            lines.add(Component.empty());
+        } else if (line.size() == 1) {
+            lines.add(line.get(0));
+        } else {
+            lines.add(Span.text("", Style.empty(), new ArrayList<>(line)));
+        }
+        line.clear();
+        lineWidth = 0;
+    }
+
+    /**
+     * Characters with their styles and advances.
+     */
+    private static class Characters {
+
+        private char[] chars = new char[16];
+        private Style[] styles = new Style[16];
+        private int[] advances = new int[16];
+        private int length;
+        private int width;
+
+        void add(char c, Style style, int advance) {
+            if (length == chars.length) {
+                chars = Arrays.copyOf(chars, length * 2);
+                styles = Arrays.copyOf(styles, length * 2);
+                advances = Arrays.copyOf(advances, length * 2);
+            }
+            chars[length] = c;
+            styles[length] = style;
+            advances[length] = advance;
+            length++;
+            width += advance;
+        }
+
+        void moveTo(LineWrapper wrapper) {
+            for (int i = 0; i < length; i++) {
+                wrapper.add(chars[i], styles[i], advances[i]);
+            }
+            clear();
+        }
+
+        void removeFirst(int count) {
+            for (int i = 0; i < count; i++) {
+                width -= advances[i];
+            }
+            length -= count;
+            System.arraycopy(chars, count, chars, 0, length);
+            System.arraycopy(styles, count, styles, 0, length);
+            System.arraycopy(advances, count, advances, 0, length);
+            Arrays.fill(styles, length, length + count, null);
+        }
+
+        void clear() {
+            Arrays.fill(styles, 0, length, null);
+            length = 0;
+            width = 0;
+        }
+    }
+}
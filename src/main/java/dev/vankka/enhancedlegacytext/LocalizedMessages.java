@@ -0,0 +1,468 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Messages by key and {@link Locale}, parsed on first use and kept in a bounded cache.
+ *
+ * Messages missing from a locale fall back to the less specific locale ({@code de_DE} to {@code de}),
+ * then to the default locale in the same way and finally to {@link Locale#ROOT}.
+ * When more messages than {@link Builder#maximumSize(int)} have been parsed, messages that haven't been used recently are dropped
+ * and parsed again the next time they're used.
+ */
+@SuppressWarnings("unused") // API
+public final class LocalizedMessages {
+
+    /**
+     * Creates a builder for {@link LocalizedMessages}.
+     * @param enhancedLegacyText the instance to parse messages with
+     * @return a new builder
+     */
+    public static Builder builder(@NotNull EnhancedLegacyText enhancedLegacyText) {
+        return new Builder(Objects.requireNonNull(enhancedLegacyText), null);
+    }
+
+    /**
+     * Creates a builder for {@link LocalizedMessages}, messages are parsed through the {@link TemplateCache}.
+     * The template cache doesn't keep the parsed components, so {@link Builder#maximumSize(int)} still bounds them.
+     * @param templateCache the template cache to parse messages with
+     * @return a new builder
+     */
+    public static Builder builder(@NotNull TemplateCache templateCache) {
+        return new Builder(templateCache.enhancedLegacyText(), templateCache);
+    }
+
+    private static final int MAX_CHAINS = 256;
+
+    private final EnhancedLegacyText enhancedLegacyText;
+    private final MessageKeys keys;
+    private final Map<Locale, Table> tables;
+    private final Table[] allTables;
+    private final Locale defaultLocale;
+    private final int maximumSize;
+    private final Map<Locale, Table[]> chains = new ConcurrentHashMap<>();
+    private final AtomicInteger parsed = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private long evictionHand;
+
+    private LocalizedMessages(Builder builder) {
+        this.enhancedLegacyText = builder.enhancedLegacyText;
+        this.defaultLocale = builder.defaultLocale;
+        this.maximumSize = builder.maximumSize;
+
+        Map<String, Integer> indices = new HashMap<>();
+        for (Map<String, String> messages : builder.messages.values()) {
+            for (String key : messages.keySet()) {
+                indices.putIfAbsent(key, indices.size());
+            }
+        }
+        this.keys = new MessageKeys(builder.enhancedLegacyText, builder.templateCache, indices);
+
+        Map<Locale, Table> tables = new LinkedHashMap<>();
+        for (Map.Entry<Locale, Map<String, String>> entry : builder.messages.entrySet()) {
+            String[] messages = new String[indices.size()];
+            for (Map.Entry<String, String> message : entry.getValue().entrySet()) {
+                messages[indices.get(message.getKey())] = message.getValue();
+            }
+            tables.put(entry.getKey(), new Table(entry.getKey(), messages));
+        }
+        this.tables = Collections.unmodifiableMap(tables);
+        this.allTables = tables.values().toArray(new Table[0]);
+    }
+
+    /**
+     * Gets the keys in any of the locales.
+     * @return the keys
+     */
+    @NotNull
+    public Set<String> keys() {
+        return keys.keys();
+    }
+
+    /**
+     * Gets the locales that have messages.
+     * @return the locales
+     */
+    @NotNull
+    public Set<Locale> locales() {
+        return tables.keySet();
+    }
+
+    /**
+     * Gets the index of a key, for use with {@link #component(int, Locale)}.
+     * @param key the message key
+     * @return the index of the key or {@code -1} if the key isn't in any locale
+     */
+    public int index(@NotNull String key) {
+        return keys.index(key);
+    }
+
+    /**
+     * Gets the unparsed message.
+     * @param key the message key
+     * @param locale the locale
+     * @return the message input text
+     * @throws IllegalArgumentException if the key isn't in the locale or any of its fallbacks
+     */
+    @NotNull
+    public String raw(@NotNull String key, @NotNull Locale locale) {
+        int index = keys.checkedIndex(key);
+        return table(index, locale, key).messages[index];
+    }
+
+    /**
+     * Gets the parsed message, parsing it if it isn't cached.
+     * @param key the message key
+     * @param locale the locale
+     * @return the parsed message
+     * @throws IllegalArgumentException if the key isn't in the locale or any of its fallbacks
+     */
+    @NotNull
+    public Component component(@NotNull String key, @NotNull Locale locale) {
+        return component(keys.checkedIndex(key), locale);
+    }
+
+    /**
+     * Gets the parsed message, parsing it if it isn't cached.
+     * @param index the index of the message key, from {@link #index(String)}
+     * @param locale the locale
+     * @return the parsed message
+     * @throws IllegalArgumentException if the index isn't the index of a key, or the key isn't in the locale or any of its fallbacks
+     */
+    @NotNull
+    public Component component(int index, @NotNull Locale locale) {
+        Table table = table(keys.checkedIndex(index), locale, null);
+        Component component = table.components.get(index);
+        if (component != null) {
+            if (table.referenced.get(index) == 0) {
+                table.referenced.lazySet(index, 1);
+            }
+            return component;
+        }
+
+        component = keys.parse(table.components, index, table.messages[index], parsed);
+        if (parsed.get() > maximumSize) {
+            evict();
+        }
+        return component;
+    }
+
+    /**
+     * Creates a {@link EnhancedComponentBuilder} for a message, for adding replacements.
+     * @param key the message key
+     * @param locale the locale
+     * @return a new {@link EnhancedComponentBuilder} with the message as the input
+     * @throws IllegalArgumentException if the key isn't in the locale or any of its fallbacks
+     */
+    @NotNull
+    public EnhancedComponentBuilder buildComponent(@NotNull String key, @NotNull Locale locale) {
+        return enhancedLegacyText.buildComponent(raw(key, locale));
+    }
+
+    /**
+     * Gets the approximate memory used by each locale.
+     * @return stats for each locale, in the order they were added
+     */
+    @NotNull
+    public Map<Locale, Stats> stats() {
+        Map<Locale, Stats> stats = new LinkedHashMap<>();
+        for (Table table : allTables) {
+            int messages = 0, parsed = 0;
+            long rawBytes = 0, parsedBytes = 0;
+            for (int index = 0; index < table.messages.length; index++) {
+                String message = table.messages[index];
+                if (message == null) {
+                    continue;
+                }
+                messages++;
+                rawBytes += 40 + message.length() * 2L;
+
+                Component component = table.components.get(index);
+                if (component != null) {
+                    parsed++;
+                    parsedBytes += estimateSize(component);
+                }
+            }
+            stats.put(table.locale, new Stats(messages, parsed, rawBytes, parsedBytes));
+        }
+        return stats;
+    }
+
+    private static long estimateSize(Component component) {
+        // Component, style and children list
+        long size = 64;
+        if (component instanceof TextComponent) {
+            size += 40 + ((TextComponent) component).content().length() * 2L;
+        }
+        for (Component child : component.children()) {
+            size += 8 + estimateSize(child);
+        }
+        return size;
+    }
+
+    private Table table(int index, Locale locale, String key) {
+        Table[] chain = chains.get(locale);
+        if (chain == null) {
+            chain = chain(locale);
+            if (chains.size() < MAX_CHAINS) {
+                // Locales come from clients, only a limited amount of them is kept
+                chains.put(locale, chain);
+            }
+        }
+        for (Table table : chain) {
+            if (table.messages[index] != null) {
+                return table;
+            }
+        }
+        throw new IllegalArgumentException("No message for key " + (key != null ? key : index) + " in locale " + locale);
+    }
+
+    private Table[] chain(Locale locale) {
+        Set<Locale> candidates = new LinkedHashSet<>();
+        addCandidates(candidates, locale);
+        addCandidates(candidates, defaultLocale);
+        candidates.add(Locale.ROOT);
+
+        List<Table> chain = new ArrayList<>();
+        for (Locale candidate : candidates) {
+            Table table = tables.get(candidate);
+            if (table != null) {
+                chain.add(table);
+            }
+        }
+        return chain.toArray(new Table[0]);
+    }
+
+    private static void addCandidates(Set<Locale> candidates, Locale locale) {
+        String language = locale.getLanguage(), country = locale.getCountry(), variant = locale.getVariant();
+        if (!variant.isEmpty()) {
+            candidates.add(new Locale(language, country, variant));
+        }
+        if (!country.isEmpty()) {
+            candidates.add(new Locale(language, country));
+        }
+        if (!language.isEmpty()) {
+            candidates.add(new Locale(language));
+        }
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            // Another thread is already evicting
+            return;
+        }
+        try {
+            int keyCount = keys.keys().size();
+            long slots = (long) keyCount * allTables.length;
+            // Second chance: skip and clear recently used messages, drop the rest
+            for (long step = 0; step < slots * 2 && parsed.get() > maximumSize; step++) {
+                long hand = evictionHand++ % slots;
+                Table table = allTables[(int) (hand / keyCount)];
+                int index = (int) (hand % keyCount);
+
+                Component component = table.components.get(index);
+                if (component == null) {
+                    continue;
+                }
+                if (table.referenced.get(index) != 0) {
+                    table.referenced.set(index, 0);
+                } else if (table.components.compareAndSet(index, component, null)) {
+                    parsed.decrementAndGet();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static class Table {
+
+        private final Locale locale;
+        private final String[] messages;
+        private final AtomicReferenceArray<Component> components;
+        private final AtomicIntegerArray referenced;
+
+        private Table(Locale locale, String[] messages) {
+            this.locale = locale;
+            this.messages = messages;
+            this.components = new AtomicReferenceArray<>(messages.length);
+            this.referenced = new AtomicIntegerArray(messages.length);
+        }
+    }
+
+    /**
+     * Approximate memory used by the messages of a locale.
+     */
+    public static final class Stats {
+
+        private final int messages;
+        private final int parsed;
+        private final long rawBytes;
+        private final long parsedBytes;
+
+        private Stats(int messages, int parsed, long rawBytes, long parsedBytes) {
+            this.messages = messages;
+            this.parsed = parsed;
+            this.rawBytes = rawBytes;
+            this.parsedBytes = parsedBytes;
+        }
+
+        /**
+         * Gets the amount of messages in the locale.
+         * @return the amount of messages
+         */
+        public int messages() {
+            return messages;
+        }
+
+        /**
+         * Gets the amount of messages currently parsed and cached.
+         * @return the amount of parsed messages
+         */
+        public int parsed() {
+            return parsed;
+        }
+
+        /**
+         * Gets the approximate size of the unparsed messages.
+         * @return the size in bytes
+         */
+        public long rawBytes() {
+            return rawBytes;
+        }
+
+        /**
+         * Gets the approximate size of the cached parsed messages.
+         * @return the size in bytes
+         */
+        public long parsedBytes() {
+            return parsedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{messages=" + messages + ", parsed=" + parsed + ", rawBytes=" + rawBytes + ", parsedBytes=" + parsedBytes + "}";
+        }
+    }
+
+    /**
+     * A builder for {@link LocalizedMessages}.
+     */
+    public static final class Builder {
+
+        private final EnhancedLegacyText enhancedLegacyText;
+        private final TemplateCache templateCache;
+        private final Map<Locale, Map<String, String>> messages = new LinkedHashMap<>();
+        private Locale defaultLocale = Locale.ROOT;
+        private int maximumSize = 10_000;
+
+        private Builder(EnhancedLegacyText enhancedLegacyText, TemplateCache templateCache) {
+            this.enhancedLegacyText = enhancedLegacyText;
+            this.templateCache = templateCache;
+        }
+
+        /**
+         * Adds messages for a locale, replacing any messages previously added for the same keys in the locale.
+         * @param locale the locale
+         * @param messages the messages by key
+         * @return this builder, useful for chaining
+         */
+        @NotNull
+        public Builder add(@NotNull Locale locale, @NotNull Map<String, String> messages) {
+            this.messages.computeIfAbsent(locale, key -> new HashMap<>()).putAll(messages);
+            return this;
+        }
+
+        /**
+         * Adds messages for a locale, replacing any messages previously added for the same keys in the locale.
+         * @param locale the locale
+         * @param messages the messages by key
+         * @return this builder, useful for chaining
+         */
+        @NotNull
+        public Builder add(@NotNull Locale locale, @NotNull Properties messages) {
+            Map<String, String> map = this.messages.computeIfAbsent(locale, key -> new HashMap<>());
+            for (String key : messages.stringPropertyNames()) {
+                map.put(key, messages.getProperty(key));
+            }
+            return this;
+        }
+
+        /**
+         * Sets the locale used when a message isn't available in the requested locale, default: {@link Locale#ROOT}.
+         * @param defaultLocale the default locale
+         * @return this builder, useful for chaining
+         */
+        @NotNull
+        public Builder defaultLocale(@NotNull Locale defaultLocale) {
+            this.defaultLocale = Objects.requireNonNull(defaultLocale);
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of parsed messages kept across all locales, default: 10000.
+         * @param maximumSize the maximum amount of parsed messages
+         * @return this builder, useful for chaining
+         */
+        @NotNull
+        public Builder maximumSize(int maximumSize) {
+            if (maximumSize < 0) {
+                throw new IllegalArgumentException("maximumSize cannot be negative");
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Builds the {@link LocalizedMessages}.
+         * @return a new {@link LocalizedMessages}
+         */
+        @NotNull
+        public LocalizedMessages build() {
+            return new LocalizedMessages(this);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+/**
+ * A set of messages by key, parsed on first use or all at once with {@link #preparse()}.
+ *
+ * Keys are given an index when the bundle is created, {@link #component(int)} can be used to skip the key lookup.
+ * Messages with placeholders can be built with {@link #buildComponent(String)}, they are parsed again on every build,
+ * as replacement values can change how the text around them is parsed.
+ * For a message that is rendered repeatedly, {@link EnhancedComponentBuilder#renderHandle()} skips parsing while the values stay the same.
+ */
+@SuppressWarnings("unused") // API
+public final class MessageBundle {
+
+    /**
+     * Creates a bundle from the given messages.
+     * @param enhancedLegacyText the instance to parse messages with
+     * @param messages the messages by key
+     * @return a new {@link MessageBundle}
+     */
+    public static MessageBundle of(@NotNull EnhancedLegacyText enhancedLegacyText, @NotNull Map<String, String> messages) {
+        return new MessageBundle(enhancedLegacyText, null, messages);
+    }
+
+    /**
+     * Creates a bundle from the given messages.
+     * @param enhancedLegacyText the instance to parse messages with
+     * @param messages the messages by key
+     * @return a new {@link MessageBundle}
+     */
+    public static MessageBundle of(@NotNull EnhancedLegacyText enhancedLegacyText, @NotNull Properties messages) {
+        return new MessageBundle(enhancedLegacyText, null, toMap(messages));
+    }
+
+    /**
+     * Creates a bundle from the given messages, messages are parsed through the {@link TemplateCache}.
+     * @param templateCache the template cache to parse messages with
+     * @param messages the messages by key
+     * @return a new {@link MessageBundle}
+     */
+    public static MessageBundle of(@NotNull TemplateCache templateCache, @NotNull Map<String, String> messages) {
+        return new MessageBundle(templateCache.enhancedLegacyText(), templateCache, messages);
+    }
+
+    /**
+     * Creates a bundle from the given messages, messages are parsed through the {@link TemplateCache}.
+     * @param templateCache the template cache to parse messages with
+     * @param messages the messages by key
+     * @return a new {@link MessageBundle}
+     */
+    public static MessageBundle of(@NotNull TemplateCache templateCache, @NotNull Properties messages) {
+        return new MessageBundle(templateCache.enhancedLegacyText(), templateCache, toMap(messages));
+    }
+
+    private static Map<String, String> toMap(Properties properties) {
+        Map<String, String> messages = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            messages.put(key, properties.getProperty(key));
+        }
+        return messages;
+    }
+
+    private final EnhancedLegacyText enhancedLegacyText;
+    private final MessageKeys keys;
+    private final String[] messages;
+    private final AtomicReferenceArray<Component> components;
+
+    private MessageBundle(EnhancedLegacyText enhancedLegacyText, TemplateCache templateCache, Map<String, String> messages) {
+        this.enhancedLegacyText = enhancedLegacyText;
+
+        Map<String, Integer> indices = new HashMap<>(messages.size() * 4 / 3 + 1);
+        this.messages = new String[messages.size()];
+        int index = 0;
+        for (Map.Entry<String, String> entry : messages.entrySet()) {
+            indices.put(entry.getKey(), index);
+            this.messages[index++] = entry.getValue();
+        }
+        this.keys = new MessageKeys(enhancedLegacyText, templateCache, indices);
+        this.components = new AtomicReferenceArray<>(this.messages.length);
+    }
+
+    /**
+     * Gets the keys of this bundle.
+     * @return the keys
+     */
+    @NotNull
+    public Set<String> keys() {
+        return keys.keys();
+    }
+
+    /**
+     * Gets the amount of messages in this bundle.
+     * @return the amount of messages
+     */
+    public int size() {
+        return messages.length;
+    }
+
+    /**
+     * Gets the index of a key, for use with {@link #component(int)}.
+     * @param key the message key
+     * @return the index of the key or {@code -1} if the key isn't in this bundle
+     */
+    public int index(@NotNull String key) {
+        return keys.index(key);
+    }
+
+    /**
+     * Gets the unparsed message.
+     * @param key the message key
+     * @return the message input text
+     * @throws IllegalArgumentException if the key isn't in this bundle
+     */
+    @NotNull
+    public String raw(@NotNull String key) {
+        return messages[keys.checkedIndex(key)];
+    }
+
+    /**
+     * Gets the parsed message, parsing it if it hasn't been parsed yet.
+     * @param key the message key
+     * @return the parsed message
+     * @throws IllegalArgumentException if the key isn't in this bundle
+     */
+    @NotNull
+    public Component component(@NotNull String key) {
+        return component(keys.checkedIndex(key));
+    }
+
+    /**
+     * Gets the parsed message, parsing it if it hasn't been parsed yet.
+     * @param index the index of the message key, from {@link #index(String)}
+     * @return the parsed message
+     * @throws IllegalArgumentException if the index isn't the index of a key in this bundle
+     */
+    @NotNull
+    public Component component(int index) {
+        Component component = components.get(keys.checkedIndex(index));
+        if (component != null) {
+            return component;
+        }
+        return keys.parse(components, index, messages[index], null);
+    }
+
+    /**
+     * Creates a {@link EnhancedComponentBuilder} for a message, for adding replacements.
+     * @param key the message key
+     * @return a new {@link EnhancedComponentBuilder} with the message as the input
+     * @throws IllegalArgumentException if the key isn't in this bundle
+     */
+    @NotNull
+    public EnhancedComponentBuilder buildComponent(@NotNull String key) {
+        return enhancedLegacyText.buildComponent(messages[keys.checkedIndex(key)]);
+    }
+
+    /**
+     * Parses all messages that haven't been parsed yet, in parallel.
+     * @return this bundle, useful for chaining
+     */
+    public MessageBundle preparse() {
+        IntStream.range(0, messages.length).parallel().forEach(this::component);
+        return this;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The key indices of a set of messages and how they're parsed, shared by {@link MessageBundle} and {@link LocalizedMessages}.
+ */
+final class MessageKeys {
+
+    private final EnhancedLegacyText enhancedLegacyText;
+    private final TemplateCache templateCache;
+    private final Map<String, Integer> indices;
+
+    MessageKeys(EnhancedLegacyText enhancedLegacyText, TemplateCache templateCache, Map<String, Integer> indices) {
+        this.enhancedLegacyText = enhancedLegacyText;
+        this.templateCache = templateCache;
+        this.indices = Collections.unmodifiableMap(indices);
+    }
+
+    Set<String> keys() {
+        return indices.keySet();
+    }
+
+    int index(String key) {
+        Integer index = indices.get(key);
+        return index != null ? index : -1;
+    }
+
+    int checkedIndex(String key) {
+        int index = index(key);
+        if (index == -1) {
+            throw new IllegalArgumentException("Unknown message key: " + key);
+        }
+        return index;
+    }
+
+    int checkedIndex(int index) {
+        if (index < 0 || index >= indices.size()) {
+            throw new IllegalArgumentException("Unknown message index: " + index);
+        }
+        return index;
+    }
+
+    /**
+     * Parses a message and stores it at the index, unless another thread stored one first.
+     * @param parsed counted up when the message is stored, or {@code null}
+     * @return the stored message
+     */
+    Component parse(AtomicReferenceArray<Component> components, int index, String message, AtomicInteger parsed) {
+        // The components array keeps the message, the template cache doesn't need to
+        Component component = templateCache != null ? templateCache.parseUnkept(message) : enhancedLegacyText.parse(message);
+        if (!components.compareAndSet(index, null, component)) {
+            // Another thread parsed it first
+            Component other = components.get(index);
+            return other != null ? other : component;
+        }
+        if (parsed != null) {
+            parsed.incrementAndGet();
+        }
+        return component;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+
+/**
+ * The nearest {@link NamedTextColor} to any color, from a table of 15 bit colors (32768 entries)
+ * filled in with {@link NamedTextColor#nearestTo(TextColor)} when it is first used.
+ */
+final class NamedColors {
+
+    private static final NamedTextColor[] VALUES = NamedTextColor.NAMES.values().toArray(new NamedTextColor[0]);
+    private static final byte[] NEAREST = new byte[1 << 15];
+
+    static {
+        for (int index = 0; index < NEAREST.length; index++) {
+            // The middle of the colors in the entry
+            int red = ((index >> 10) << 3) | 4;
+            int green = (((index >> 5) & 0x1F) << 3) | 4;
+            int blue = ((index & 0x1F) << 3) | 4;
+
+            NamedTextColor nearest = NamedTextColor.nearestTo(TextColor.color(red, green, blue));
+            for (int i = 0; i < VALUES.length; i++) {
+                if (VALUES[i] == nearest) {
+                    NEAREST[index] = (byte) i;
+                    break;
+                }
+            }
+        }
+    }
+
+    private NamedColors() {}
+
+    static NamedTextColor nearest(TextColor color) {
+        if (color instanceof NamedTextColor) {
+            return (NamedTextColor) color;
+        }
+        return nearest(color.value());
+    }
+
+    static NamedTextColor nearest(int rgb) {
+        NamedTextColor exact = NamedTextColor.ofExact(rgb);
+        if (exact != null) {
+            return exact;
+        }
+        return VALUES[NEAREST[((rgb >> 9) & 0x7C00) | ((rgb >> 6) & 0x3E0) | ((rgb >> 3) & 0x1F)]];
+    }
+
+    static Style nearest(Style style) {
+        TextColor color = style.color();
+        return color != null ? style.color(nearest(color)) : style;
+    }
+}
@@ -24,25 +24,35 @@
 
 package dev.vankka.enhancedlegacytext;
 
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.ComponentBuilder;
-import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 class ParseContext {
 
     final StringBuilder rollbackBuffer = new StringBuilder();
+    // Offsets of the rollback buffer's characters in the input, only when validating
+    private int[] rollbackOffsets;
+    private int rollbackOffsetCount;
     boolean escape = false;
 
     SquareBracketStatus squareBracketStatus = SquareBracketStatus.NONE;
     final StringBuilder squareBracketPrefix = new StringBuilder();
     final StringBuilder[] squareBracketContext = new StringBuilder[] { new StringBuilder(), new StringBuilder() };
+    int keyword = Keywords.ROOT;
+    Keywords.Namespace colorNamespace;
+    TextDecoration decoration;
+    ClickEvent.Action clickAction;
+    TagHandler tagHandler;
+    // The parsed arguments of a translation, null until the key has ended
+    List<String> translateArguments;
+    int translateDepth;
 
     boolean color = false;
     boolean hexColor = false;
@@ -52,17 +62,48 @@ class ParseContext {
     boolean gradientDelimiter = false;
     final List<TextColor> gradientColors = new ArrayList<>();
 
-    final StringBuilder content = new StringBuilder();
+    // All text content, content after contentStart hasn't been given to a span yet
+    final StringBuilder text = new StringBuilder();
+    int contentStart = 0;
 
     String insertion;
     ClickEvent clickEvent;
     HoverEvent<?> hoverEvent;
 
-    final TextComponent.Builder rootBuilder = Component.text();
-    final List<ComponentBuilder<?, ?>> builders = new ArrayList<>();
-    TextComponent.Builder current = Component.text();
+    final Span root = new Span();
+    final List<Span> chain = new ArrayList<>();
+    Span current = new Span();
     final AtomicBoolean newChild = new AtomicBoolean(false);
 
+    /**
+     * Tracks the input offset of the next character added to the rollback buffer.
+     */
+    void trackRollbackOffset(int offset) {
+        if (rollbackBuffer.length() == 0) {
+            // Cleared since the last character
+            rollbackOffsetCount = 0;
+        }
+        if (rollbackOffsets == null) {
+            rollbackOffsets = new int[16];
+        } else if (rollbackOffsetCount == rollbackOffsets.length) {
+            rollbackOffsets = Arrays.copyOf(rollbackOffsets, rollbackOffsetCount * 2);
+        }
+        rollbackOffsets[rollbackOffsetCount++] = offset;
+    }
+
+    /**
+     * Gets the input offsets of the rollback buffer's characters.
+     * @param from the first character in the rollback buffer
+     * @return the offsets, or {@code null} if they weren't tracked
+     */
+    int[] rollbackOffsets(int from) {
+        int length = rollbackBuffer.length();
+        if (rollbackOffsetCount < length) {
+            return null;
+        }
+        return Arrays.copyOfRange(rollbackOffsets == null ? new int[0] : rollbackOffsets, rollbackOffsetCount - length + from, rollbackOffsetCount);
+    }
+
     enum SquareBracketStatus {
 
         NONE,
@@ -79,7 +120,10 @@ class ParseContext {
         DECORATION,
 
         COLOR,
-        COLOR_NAMESPACED;
+        COLOR_NAMESPACED,
+
+        TRANSLATE,
+        CUSTOM;
 
         private final boolean event;
 
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A parsed {@link Component} with the length and width of its visible text, measured while parsing.
+ *
+ * The width is in pixels for Minecraft's default font, with bold text taken into account.
+ * Characters outside of ASCII are measured as 6 pixels, as their real width depends on the client's fonts.
+ */
+@SuppressWarnings("unused") // API
+public final class ParseResult {
+
+    private final Component component;
+    private final int visibleLength;
+    private final int width;
+
+    ParseResult(Component component, int visibleLength, int width) {
+        this.component = component;
+        this.visibleLength = visibleLength;
+        this.width = width;
+    }
+
+    /**
+     * Gets the parsed component.
+     * @return the component
+     */
+    @NotNull
+    public Component component() {
+        return component;
+    }
+
+    /**
+     * Gets the amount of visible characters (code points).
+     * @return the visible length
+     */
+    public int visibleLength() {
+        return visibleLength;
+    }
+
+    /**
+     * Gets the rendered width in pixels.
+     * @return the width
+     */
+    public int width() {
+        return width;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseResult{component=" + component + ", visibleLength=" + visibleLength + ", width=" + width + "}";
+    }
+}
@@ -39,7 +39,9 @@ public enum RecursiveReplacement {
 
     /**
      * Replaced content is processed through all patterns until none match.
-     * When this is used care needs to be taken to avoid infinite recursion and potential user input.
+     * When this is used care needs to be taken with potential user input.
+     * A match that is found again in its own replacement is left as is, as are matches past
+     * {@link EnhancedLegacyText.Builder#maxReplacementDepth(int)} and {@link EnhancedLegacyText.Builder#maxReplacementLength(int)}.
      */
     YES
 }
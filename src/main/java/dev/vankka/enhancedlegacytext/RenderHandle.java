@@ -0,0 +1,207 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A handle for rendering the same input and replacements repeatedly, for example every tick.
+ *
+ * Every replacement call from the previous render is remembered. On {@link #update()} those calls are repeated first,
+ * if none of the values changed the previous {@link Component} is kept as is, without parsing.
+ * Otherwise the input is parsed again using the already computed values,
+ * and parts of the new {@link Component} that are equal to the previous {@link Component} are reused by identity.
+ */
+@SuppressWarnings("unused") // API
+public class RenderHandle {
+
+    private final EnhancedLegacyText enhancedLegacyText;
+    private final String input;
+    private final List<Pair<Pattern, Function<Matcher, Object>>> replacements;
+    private final List<Pair<Pattern, Function<Matcher, Object>>> recordingReplacements;
+    private final RecursiveReplacement recursiveReplacement;
+    private final boolean allPlaceholderOutputIsSafeInput;
+
+    private List<Invocation> invocations = Collections.emptyList();
+    private List<Invocation> recording;
+    private int position;
+    private Component component;
+
+    protected RenderHandle(
+            EnhancedLegacyText enhancedLegacyText,
+            String input,
+            List<Pair<Pattern, Function<Matcher, Object>>> replacements,
+            RecursiveReplacement recursiveReplacement,
+            boolean allPlaceholderOutputIsSafeInput
+    ) {
+        this.enhancedLegacyText = enhancedLegacyText;
+        this.input = input;
+        this.replacements = new ArrayList<>(replacements);
+        this.recursiveReplacement = recursiveReplacement;
+        this.allPlaceholderOutputIsSafeInput = allPlaceholderOutputIsSafeInput;
+
+        List<Pair<Pattern, Function<Matcher, Object>>> recordingReplacements = new ArrayList<>(replacements.size());
+        for (int i = 0; i < replacements.size(); i++) {
+            int replacement = i;
+            recordingReplacements.add(new Pair<>(replacements.get(i).getKey(), matcher -> apply(replacement, matcher)));
+        }
+        this.recordingReplacements = recordingReplacements;
+    }
+
+    /**
+     * Gets the {@link Component} from the latest render, rendering for the first time if required.
+     * @return the latest {@link Component}
+     */
+    @NotNull
+    public synchronized Component component() {
+        if (component == null) {
+            update();
+        }
+        return component;
+    }
+
+    /**
+     * Renders again if any of the replacement values changed.
+     * @return {@code true} if the {@link Component} is different from the previous render
+     */
+    public synchronized boolean update() {
+        if (component != null) {
+            boolean anyChanged = false;
+            List<Invocation> current = new ArrayList<>(invocations.size());
+            for (Invocation invocation : invocations) {
+                Matcher matcher = matcher(invocation.replacement, invocation.match);
+                Object value = replacements.get(invocation.replacement).getValue().apply(matcher);
+                if (!Objects.equals(value, invocation.value)) {
+                    anyChanged = true;
+                }
+                current.add(new Invocation(invocation.replacement, invocation.match, value));
+            }
+            if (!anyChanged) {
+                return false;
+            }
+            invocations = current;
+        }
+
+        recording = new ArrayList<>(invocations.size());
+        position = 0;
+        Component rendered;
+        try {
+            rendered = enhancedLegacyText.parse(input, recordingReplacements, recursiveReplacement, allPlaceholderOutputIsSafeInput);
+        } finally {
+            invocations = recording;
+            recording = null;
+        }
+
+        Component previous = component;
+        component = reuse(previous, rendered);
+        return component != previous;
+    }
+
+    private Object apply(int replacement, Matcher matcher) {
+        // Kept instead of the matcher, the replacement function may move the matcher
+        MatchResult match = matcher.toMatchResult();
+
+        int call = position++;
+        if (call < invocations.size()) {
+            // The same call as in the previous render, use the value that was already computed
+            Invocation invocation = invocations.get(call);
+            if (invocation.replacement == replacement
+                    && invocation.match.start() == match.start()
+                    && invocation.match.group().equals(match.group())) {
+                recording.add(new Invocation(replacement, match, invocation.value));
+                return invocation.value;
+            }
+        }
+
+        Object value = replacements.get(replacement).getValue().apply(matcher);
+        recording.add(new Invocation(replacement, match, value));
+        return value;
+    }
+
+    /**
+     * Creates a new matcher for a match from the previous render, matching the same text with the same groups.
+     */
+    private Matcher matcher(int replacement, MatchResult match) {
+        Matcher matcher = replacements.get(replacement).getKey().matcher(match.group());
+        if (!matcher.matches()) {
+            // Depends on text around the match
+            matcher.find();
+        }
+        return matcher;
+    }
+
+    /**
+     * Reuses the previous {@link Component} or its children where they are equal to the current {@link Component}.
+     */
+    static Component reuse(Component previous, Component current) {
+        if (previous == null) {
+            return current;
+        }
+        if (previous.equals(current)) {
+            return previous;
+        }
+
+        List<Component> previousChildren = previous.children();
+        List<Component> children = current.children();
+        if (previousChildren.isEmpty() || children.isEmpty()) {
+            return current;
+        }
+
+        boolean anyReused = false;
+        List<Component> reusedChildren = new ArrayList<>(children.size());
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component reused = i < previousChildren.size() ? reuse(previousChildren.get(i), child) : child;
+            if (reused != child) {
+                anyReused = true;
+            }
+            reusedChildren.add(reused);
+        }
+        return anyReused ? current.children(reusedChildren) : current;
+    }
+
+    private static class Invocation {
+
+        private final int replacement;
+        private final MatchResult match;
+        private final Object value;
+
+        private Invocation(int replacement, MatchResult match, Object value) {
+            this.replacement = replacement;
+            this.match = match;
+            this.value = value;
+        }
+    }
+}
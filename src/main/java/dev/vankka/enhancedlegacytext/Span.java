@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A node of the parser output, the content is a range of the parse context's text
+ * or a replacement {@link Component} embedded by reference.
+ * Spans are turned into {@link Component}s once, when parsing is done.
+ */
+final class Span {
+
+    int start;
+    int end;
+    Style style = Style.empty();
+    Component component;
+    List<Span> children;
+    // If the children are the characters of a gradient
+    boolean gradient;
+
+    Span() {}
+
+    Span(int start, int end, Style style) {
+        this.start = start;
+        this.end = end;
+        this.style = style;
+    }
+
+    Span(Component component) {
+        this.component = component;
+    }
+
+    void append(Span child) {
+        if (children == null) {
+            children = new ArrayList<>(2);
+        }
+        children.add(child);
+    }
+
+    boolean hasContent() {
+        return start != end;
+    }
+
+    boolean isEmpty() {
+        return start == end && children == null && component == null && Style.empty().equals(style);
+    }
+
+    /**
+     * Creates the {@link Component} for this span.
+     * @param text the text the span's range is from
+     * @param internStyles if styles should be interned with {@link StyleInterner}, replacement components are not changed
+     * @param gradients the set to add the components of gradients to, or {@code null}
+     * @return the component, or {@code null} if it would be empty
+     */
+    Component toComponent(CharSequence text, boolean internStyles, Set<Component> gradients) {
+        List<Component> children = childComponents(text, internStyles, gradients);
+
+        if (component != null) {
+            // Replacement components are immutable, they are used as is instead of being copied
+            if (children.isEmpty()) {
+                return component;
+            }
+
+            // Only the top component is recreated to add the children, its subtree is shared
+            List<Component> allChildren = new ArrayList<>(component.children().size() + children.size());
+            allChildren.addAll(component.children());
+            allChildren.addAll(children);
+            return component.children(allChildren);
+        }
+
+        String content = start != end ? text.subSequence(start, end).toString() : "";
+        if (content.isEmpty() && children.isEmpty() && Style.empty().equals(style)) {
+            return null;
+        }
+        TextComponent result = text(content, internStyles ? StyleInterner.style(style) : style, children);
+        if (gradient && gradients != null) {
+            gradients.add(result);
+        }
+        return result;
+    }
+
+    /**
+     * Creates the {@link Component}s for this span's children, skipping empty ones.
+     */
+    List<Component> childComponents(CharSequence text, boolean internStyles, Set<Component> gradients) {
+        if (children == null) {
+            return Collections.emptyList();
+        }
+
+        List<Component> components = new ArrayList<>(children.size());
+        for (Span child : children) {
+            Component component = child.toComponent(text, internStyles, gradients);
+            if (component != null && component != Component.empty()) {
+                components.add(component);
+            }
+        }
+        return components;
+    }
+
+    static TextComponent text(String content, Style style, List<Component> children) {
+        TextComponent component = Component.text(content, style);
+        return children.isEmpty() ? component : component.children(children);
+    }
+}
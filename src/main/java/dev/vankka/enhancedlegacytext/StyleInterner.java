@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares equal styles, events and colors between parse results, used when {@link EnhancedLegacyText.Builder#internStyles(boolean)} is enabled.
+ * Each kind is kept in a bounded map, which is cleared when it becomes full.
+ */
+final class StyleInterner {
+
+    private static final int MAX_SIZE = 8192;
+
+    private static final Map<Style, Style> STYLES = new ConcurrentHashMap<>();
+    private static final Map<ClickEvent, ClickEvent> CLICK_EVENTS = new ConcurrentHashMap<>();
+    private static final Map<HoverEvent<?>, HoverEvent<?>> HOVER_EVENTS = new ConcurrentHashMap<>();
+    private static final Map<TextColor, TextColor> COLORS = new ConcurrentHashMap<>();
+
+    private StyleInterner() {}
+
+    static TextColor color(TextColor color) {
+        return intern(COLORS, color);
+    }
+
+    static ClickEvent clickEvent(ClickEvent clickEvent) {
+        return intern(CLICK_EVENTS, clickEvent);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> HoverEvent<V> hoverEvent(HoverEvent<V> hoverEvent) {
+        return (HoverEvent<V>) intern(HOVER_EVENTS, hoverEvent);
+    }
+
+    static Style style(Style style) {
+        if (style.isEmpty()) {
+            return Style.empty();
+        }
+        return intern(STYLES, style);
+    }
+
+    private static <T> T intern(Map<T, T> map, T value) {
+        T existing = map.get(value);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (map.size() >= MAX_SIZE) {
+            map.clear();
+        }
+        existing = map.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+}
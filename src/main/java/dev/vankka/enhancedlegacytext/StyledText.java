@@ -0,0 +1,326 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The visible text of a parse, with a flat list of styled ranges over it.
+ * Adjacent ranges always have a different style, text without any style isn't covered by a range.
+ *
+ * Decorations are a bitmask of {@code 1 << TextDecoration#ordinal()}, colors are rgb or {@link #NO_COLOR}.
+ */
+@SuppressWarnings("unused") // API
+public final class StyledText {
+
+    /**
+     * The color of ranges without a color.
+     */
+    public static final int NO_COLOR = -1;
+    private static final TextDecoration[] DECORATIONS = TextDecoration.values();
+
+    private String text;
+    private int size;
+    private int[] starts;
+    private int[] ends;
+    private int[] colors;
+    private int[] decorations;
+    private ClickEvent[] clickEvents;
+    private HoverEvent<?>[] hoverEvents;
+    private String[] insertions;
+
+    private StyledText(int capacity) {
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+        this.colors = new int[capacity];
+        this.decorations = new int[capacity];
+        this.clickEvents = new ClickEvent[capacity];
+        this.hoverEvents = new HoverEvent<?>[capacity];
+        this.insertions = new String[capacity];
+    }
+
+    /**
+     * Gets the visible text.
+     * @return the text the ranges are over
+     */
+    @NotNull
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Gets the amount of styled ranges.
+     * @return the amount of ranges
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the start of a range in {@link #text()}, inclusive.
+     * @param index the index of the range
+     * @return the start of the range
+     */
+    public int start(int index) {
+        return starts[checkIndex(index)];
+    }
+
+    /**
+     * Gets the end of a range in {@link #text()}, exclusive.
+     * @param index the index of the range
+     * @return the end of the range
+     */
+    public int end(int index) {
+        return ends[checkIndex(index)];
+    }
+
+    /**
+     * Gets the rgb color of a range.
+     * @param index the index of the range
+     * @return the color or {@link #NO_COLOR}
+     */
+    public int color(int index) {
+        return colors[checkIndex(index)];
+    }
+
+    /**
+     * Gets the decorations of a range.
+     * @param index the index of the range
+     * @return the bitmask of decorations
+     */
+    public int decorations(int index) {
+        return decorations[checkIndex(index)];
+    }
+
+    /**
+     * If the range has the given decoration.
+     * @param index the index of the range
+     * @param decoration the decoration
+     * @return true if the decoration is enabled for the range
+     */
+    public boolean hasDecoration(int index, @NotNull TextDecoration decoration) {
+        return (decorations(index) & (1 << decoration.ordinal())) != 0;
+    }
+
+    /**
+     * Gets the click event of a range.
+     * @param index the index of the range
+     * @return the click event or {@code null}
+     */
+    @Nullable
+    public ClickEvent clickEvent(int index) {
+        return clickEvents[checkIndex(index)];
+    }
+
+    /**
+     * Gets the hover event of a range.
+     * @param index the index of the range
+     * @return the hover event or {@code null}
+     */
+    @Nullable
+    public HoverEvent<?> hoverEvent(int index) {
+        return hoverEvents[checkIndex(index)];
+    }
+
+    /**
+     * Gets the insertion of a range.
+     * @param index the index of the range
+     * @return the insertion or {@code null}
+     */
+    @Nullable
+    public String insertion(int index) {
+        return insertions[checkIndex(index)];
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("StyledText{text=").append(text).append(", ranges=[");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append(starts[i]).append('-').append(ends[i]);
+            if (colors[i] != NO_COLOR) {
+                builder.append(' ').append(TextColor.color(colors[i]).asHexString());
+            }
+            for (TextDecoration decoration : DECORATIONS) {
+                if ((decorations[i] & (1 << decoration.ordinal())) != 0) {
+                    builder.append(' ').append(decoration);
+                }
+            }
+        }
+        return builder.append("]}").toString();
+    }
+
+    /**
+     * Collects the ranges of the spans under {@code root}.
+     */
+    static StyledText of(Span root, CharSequence source) {
+        Collector collector = new Collector(source.length());
+        collector.children(root, source, NO_COLOR, 0, null, null, null);
+        return collector.finish();
+    }
+
+    private static class Collector {
+
+        private final StringBuilder text;
+        private final StyledText result;
+
+        Collector(int capacity) {
+            this.text = new StringBuilder(capacity);
+            this.result = new StyledText(8);
+        }
+
+        void span(Span span, CharSequence source, int color, int decorations, ClickEvent click, HoverEvent<?> hover, String insertion) {
+            Style style = span.style;
+            if (!style.isEmpty()) {
+                TextColor textColor = style.color();
+                if (textColor != null) {
+                    color = textColor.value();
+                }
+                decorations = Colors.decorations(style, decorations);
+                if (style.clickEvent() != null) {
+                    click = style.clickEvent();
+                }
+                if (style.hoverEvent() != null) {
+                    hover = style.hoverEvent();
+                }
+                if (style.insertion() != null) {
+                    insertion = style.insertion();
+                }
+            }
+
+            if (span.component != null) {
+                Style componentStyle = span.component.style();
+                component(span.component, color, decorations, click, hover, insertion);
+
+                // Children of embedded components inherit the component's style
+                if (componentStyle.color() != null) {
+                    color = componentStyle.color().value();
+                }
+                decorations = Colors.decorations(componentStyle, decorations);
+                click = componentStyle.clickEvent() != null ? componentStyle.clickEvent() : click;
+                hover = componentStyle.hoverEvent() != null ? componentStyle.hoverEvent() : hover;
+                insertion = componentStyle.insertion() != null ? componentStyle.insertion() : insertion;
+            } else if (span.start != span.end) {
+                text.append(source, span.start, span.end);
+                add(text.length() - (span.end - span.start), text.length(), color, decorations, click, hover, insertion);
+            }
+
+            children(span, source, color, decorations, click, hover, insertion);
+        }
+
+        void children(Span span, CharSequence source, int color, int decorations, ClickEvent click, HoverEvent<?> hover, String insertion) {
+            if (span.children == null) {
+                return;
+            }
+            for (Span child : span.children) {
+                span(child, source, color, decorations, click, hover, insertion);
+            }
+        }
+
+        void component(Component component, int color, int decorations, ClickEvent click, HoverEvent<?> hover, String insertion) {
+            Style style = component.style();
+            if (style.color() != null) {
+                color = style.color().value();
+            }
+            decorations = Colors.decorations(style, decorations);
+            click = style.clickEvent() != null ? style.clickEvent() : click;
+            hover = style.hoverEvent() != null ? style.hoverEvent() : hover;
+            insertion = style.insertion() != null ? style.insertion() : insertion;
+
+            if (component instanceof TextComponent) {
+                String content = ((TextComponent) component).content();
+                if (!content.isEmpty()) {
+                    text.append(content);
+                    add(text.length() - content.length(), text.length(), color, decorations, click, hover, insertion);
+                }
+            }
+            for (Component child : component.children()) {
+                component(child, color, decorations, click, hover, insertion);
+            }
+        }
+
+        private void add(int start, int end, int color, int decorations, ClickEvent click, HoverEvent<?> hover, String insertion) {
+            StyledText result = this.result;
+            int last = result.size - 1;
+            if (last >= 0 && result.ends[last] == start
+                    && result.colors[last] == color
+                    && result.decorations[last] == decorations
+                    && Objects.equals(result.clickEvents[last], click)
+                    && Objects.equals(result.hoverEvents[last], hover)
+                    && Objects.equals(result.insertions[last], insertion)) {
+                // Same style as the previous range, extend it
+                result.ends[last] = end;
+                return;
+            }
+            if (color == NO_COLOR && decorations == 0 && click == null && hover == null && insertion == null) {
+                return;
+            }
+
+            if (result.size == result.starts.length) {
+                int capacity = result.size * 2;
+                result.starts = Arrays.copyOf(result.starts, capacity);
+                result.ends = Arrays.copyOf(result.ends, capacity);
+                result.colors = Arrays.copyOf(result.colors, capacity);
+                result.decorations = Arrays.copyOf(result.decorations, capacity);
+                result.clickEvents = Arrays.copyOf(result.clickEvents, capacity);
+                result.hoverEvents = Arrays.copyOf(result.hoverEvents, capacity);
+                result.insertions = Arrays.copyOf(result.insertions, capacity);
+            }
+            int index = result.size++;
+            result.starts[index] = start;
+            result.ends[index] = end;
+            result.colors[index] = color;
+            result.decorations[index] = decorations;
+            result.clickEvents[index] = click;
+            result.hoverEvents[index] = hover;
+            result.insertions[index] = insertion;
+        }
+
+        StyledText finish() {
+            result.text = text.toString();
+            return result;
+        }
+    }
+}
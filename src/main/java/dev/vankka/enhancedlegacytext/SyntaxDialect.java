@@ -0,0 +1,369 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * The characters of the square bracket, gradient and escape syntax, and which of them are enabled.
+ * The color character is configured separately with {@link EnhancedLegacyText.Builder#colorCharacter(char)}.
+ *
+ * A dialect is compiled into a table of the role of each character when it's built,
+ * disabled constructs have no characters in the table, so their characters are parsed as text without any extra cost.
+ */
+@SuppressWarnings("unused") // API
+public final class SyntaxDialect {
+
+    // Roles of characters in the table
+    static final int ESCAPE = 1;
+    static final int SQUARE_BRACKET_START = 1 << 1;
+    static final int SQUARE_BRACKET_DELIMITER = 1 << 2;
+    static final int SQUARE_BRACKET_END = 1 << 3;
+    static final int GRADIENT_START = 1 << 4;
+    static final int GRADIENT_DELIMITER = 1 << 5;
+    static final int GRADIENT_END = 1 << 6;
+    static final int HEX = 1 << 7;
+
+    // The roles that start a construct, or end hover text, text between them can't change the parser's state
+    private static final int CONTROL = ESCAPE | SQUARE_BRACKET_START | SQUARE_BRACKET_END | GRADIENT_START;
+
+    /**
+     * The default dialect: {@code \} escapes, {@code [tag:value]}, {@code {color,color}} and {@code #} for hex colors.
+     */
+    public static final SyntaxDialect DEFAULT = builder().build();
+
+    /**
+     * Creates a new builder with the characters of {@link #DEFAULT}.
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final char escape;
+    private final char squareBracketStart;
+    private final char squareBracketDelimiter;
+    private final char squareBracketEnd;
+    private final char gradientStart;
+    private final char gradientDelimiter;
+    private final char gradientEnd;
+    private final char hex;
+    private final boolean escapes;
+    private final boolean squareBrackets;
+    private final boolean gradients;
+
+    // The roles of ASCII characters, all characters of a dialect are ASCII
+    private final byte[] roles = new byte[128];
+
+    private SyntaxDialect(Builder builder) {
+        this.escape = builder.escape;
+        this.squareBracketStart = builder.squareBracketStart;
+        this.squareBracketDelimiter = builder.squareBracketDelimiter;
+        this.squareBracketEnd = builder.squareBracketEnd;
+        this.gradientStart = builder.gradientStart;
+        this.gradientDelimiter = builder.gradientDelimiter;
+        this.gradientEnd = builder.gradientEnd;
+        this.hex = builder.hex;
+        this.escapes = builder.escapes;
+        this.squareBrackets = builder.squareBrackets;
+        this.gradients = builder.gradients;
+
+        assign(hex, HEX);
+        if (escapes) {
+            assign(escape, ESCAPE);
+        }
+        if (squareBrackets) {
+            assign(squareBracketStart, SQUARE_BRACKET_START);
+            assign(squareBracketDelimiter, SQUARE_BRACKET_DELIMITER);
+            assign(squareBracketEnd, SQUARE_BRACKET_END);
+        }
+        if (gradients) {
+            assign(gradientStart, GRADIENT_START);
+            assign(gradientDelimiter, GRADIENT_DELIMITER);
+            assign(gradientEnd, GRADIENT_END);
+        }
+    }
+
+    private void assign(char c, int role) {
+        if (c <= ' ' || c >= 127 || Character.isLetterOrDigit(c)) {
+            throw new IllegalArgumentException("'" + c + "' is not an ASCII symbol");
+        }
+        if (roles[c] != 0) {
+            throw new IllegalArgumentException("'" + c + "' is used for more than one purpose");
+        }
+        roles[c] = (byte) role;
+    }
+
+    /**
+     * Gets the role of the character, or {@code 0} if it's only text.
+     */
+    int role(char c) {
+        return c < 128 ? roles[c] & 0xFF : 0;
+    }
+
+    /**
+     * If the character needs to be escaped to be parsed as text, not including the color character.
+     */
+    boolean isControlCharacter(char c) {
+        return (role(c) & CONTROL) != 0;
+    }
+
+    /**
+     * If the character is used by the enabled constructs, including as a delimiter.
+     */
+    boolean isUsed(char c) {
+        return role(c) != 0;
+    }
+
+    public char escapeCharacter() {
+        return escape;
+    }
+
+    public char squareBracketStart() {
+        return squareBracketStart;
+    }
+
+    public char squareBracketDelimiter() {
+        return squareBracketDelimiter;
+    }
+
+    public char squareBracketEnd() {
+        return squareBracketEnd;
+    }
+
+    public char gradientStart() {
+        return gradientStart;
+    }
+
+    public char gradientDelimiter() {
+        return gradientDelimiter;
+    }
+
+    public char gradientEnd() {
+        return gradientEnd;
+    }
+
+    public char hexCharacter() {
+        return hex;
+    }
+
+    /**
+     * If the escape character escapes the next character.
+     * @return true if escapes are enabled
+     */
+    public boolean isEscapes() {
+        return escapes;
+    }
+
+    /**
+     * If square bracket tags (colors, decorations, events and insertions) are enabled.
+     * @return true if square brackets are enabled
+     */
+    public boolean isSquareBrackets() {
+        return squareBrackets;
+    }
+
+    /**
+     * If gradients are enabled.
+     * @return true if gradients are enabled
+     */
+    public boolean isGradients() {
+        return gradients;
+    }
+
+    /**
+     * Creates a new builder with the options of this dialect.
+     * @return a new builder
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.escape = escape;
+        builder.squareBracketStart = squareBracketStart;
+        builder.squareBracketDelimiter = squareBracketDelimiter;
+        builder.squareBracketEnd = squareBracketEnd;
+        builder.gradientStart = gradientStart;
+        builder.gradientDelimiter = gradientDelimiter;
+        builder.gradientEnd = gradientEnd;
+        builder.hex = hex;
+        builder.escapes = escapes;
+        builder.squareBrackets = squareBrackets;
+        builder.gradients = gradients;
+        return builder;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SyntaxDialect that = (SyntaxDialect) o;
+        return escape == that.escape
+                && squareBracketStart == that.squareBracketStart
+                && squareBracketDelimiter == that.squareBracketDelimiter
+                && squareBracketEnd == that.squareBracketEnd
+                && gradientStart == that.gradientStart
+                && gradientDelimiter == that.gradientDelimiter
+                && gradientEnd == that.gradientEnd
+                && hex == that.hex
+                && escapes == that.escapes
+                && squareBrackets == that.squareBrackets
+                && gradients == that.gradients;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                escape, squareBracketStart, squareBracketDelimiter, squareBracketEnd,
+                gradientStart, gradientDelimiter, gradientEnd, hex,
+                escapes, squareBrackets, gradients
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "SyntaxDialect{"
+                + "escape=" + (escapes ? String.valueOf(escape) : "disabled")
+                + ", squareBrackets=" + (squareBrackets ? "" + squareBracketStart + squareBracketDelimiter + squareBracketEnd : "disabled")
+                + ", gradients=" + (gradients ? "" + gradientStart + gradientDelimiter + gradientEnd : "disabled")
+                + ", hex=" + hex + "}";
+    }
+
+    /**
+     * A builder for {@link SyntaxDialect}s.
+     * All characters must be ASCII symbols, and the characters of the enabled constructs must be different from each other.
+     */
+    public static final class Builder {
+
+        private char escape = '\\';
+        private char squareBracketStart = '[';
+        private char squareBracketDelimiter = ':';
+        private char squareBracketEnd = ']';
+        private char gradientStart = '{';
+        private char gradientDelimiter = ',';
+        private char gradientEnd = '}';
+        private char hex = '#';
+        private boolean escapes = true;
+        private boolean squareBrackets = true;
+        private boolean gradients = true;
+
+        private Builder() {}
+
+        /**
+         * Changes the character that makes the next character text.
+         * The default value is {@code \}.
+         * @param escape the escape character
+         * @return this builder instance, useful for chaining
+         */
+        public Builder escapeCharacter(char escape) {
+            this.escape = escape;
+            return this;
+        }
+
+        /**
+         * Changes the characters of square bracket tags.
+         * The default values are {@code [}, {@code :} and {@code ]}.
+         * @param start the character that starts a tag
+         * @param delimiter the character between the parts of a tag
+         * @param end the character that ends a tag, and hover text
+         * @return this builder instance, useful for chaining
+         */
+        public Builder squareBrackets(char start, char delimiter, char end) {
+            this.squareBracketStart = start;
+            this.squareBracketDelimiter = delimiter;
+            this.squareBracketEnd = end;
+            return this;
+        }
+
+        /**
+         * Changes the characters of gradients.
+         * The default values are <code>&#123;</code>, {@code ,} and <code>&#125;</code>.
+         * @param start the character that starts a gradient
+         * @param delimiter the character between the gradient's colors
+         * @param end the character that ends the gradient's colors
+         * @return this builder instance, useful for chaining
+         */
+        public Builder gradients(char start, char delimiter, char end) {
+            this.gradientStart = start;
+            this.gradientDelimiter = delimiter;
+            this.gradientEnd = end;
+            return this;
+        }
+
+        /**
+         * Changes the character before hex colors, in square brackets and after the color character.
+         * The default value is {@code #}.
+         * @param hex the hex character
+         * @return this builder instance, useful for chaining
+         */
+        public Builder hexCharacter(char hex) {
+            this.hex = hex;
+            return this;
+        }
+
+        /**
+         * If the escape character escapes the next character.
+         * The default value is {@code true}.
+         * @param escapes if escapes are enabled
+         * @return this builder instance, useful for chaining
+         */
+        public Builder escapes(boolean escapes) {
+            this.escapes = escapes;
+            return this;
+        }
+
+        /**
+         * If square bracket tags (colors, decorations, events and insertions) are enabled.
+         * The default value is {@code true}.
+         * @param squareBrackets if square brackets are enabled
+         * @return this builder instance, useful for chaining
+         */
+        public Builder squareBrackets(boolean squareBrackets) {
+            this.squareBrackets = squareBrackets;
+            return this;
+        }
+
+        /**
+         * If gradients are enabled.
+         * The default value is {@code true}.
+         * @param gradients if gradients are enabled
+         * @return this builder instance, useful for chaining
+         */
+        public Builder gradients(boolean gradients) {
+            this.gradients = gradients;
+            return this;
+        }
+
+        /**
+         * Compiles the dialect.
+         * @return a new {@link SyntaxDialect}
+         * @throws IllegalArgumentException if a character isn't an ASCII symbol, or is used for more than one purpose
+         */
+        @NotNull
+        public SyntaxDialect build() {
+            return new SyntaxDialect(this);
+        }
+    }
+}
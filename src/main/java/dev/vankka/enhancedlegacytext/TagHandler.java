@@ -0,0 +1,50 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Handles a custom square bracket tag, registered with {@link EnhancedLegacyText.Builder#tag(String, TagHandler)}.
+ *
+ * For {@code [name:value]} the handler gets the value with escapes removed, for {@code [name]} the value is empty.
+ * Custom tags are matched by the same keyword trie as the built-in tags, so they don't cost more to parse.
+ * Handlers aren't called by {@link EnhancedLegacyText#validate(String)}.
+ */
+@FunctionalInterface
+public interface TagHandler {
+
+    /**
+     * Handles a tag.
+     * @param value the value of the tag
+     * @return a {@link net.kyori.adventure.text.ComponentLike} to insert,
+     * a {@link net.kyori.adventure.text.format.TextColor} or {@link net.kyori.adventure.text.format.TextDecoration}
+     * to apply to the following text, a {@link net.kyori.adventure.text.format.Style} to merge into the style of the following text,
+     * or {@code null} if the value isn't valid and the tag should be kept as text
+     */
+    @Nullable
+    Object handle(@NotNull String value);
+}
@@ -0,0 +1,559 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of parsed inputs (without replacements) that can be saved to and loaded from a file,
+ * so inputs don't need to be parsed again after a restart.
+ *
+ * The file is memory-mapped when opened, entries are only decoded when they are first requested.
+ * The file is ignored if it was written by an instance with different options or its index doesn't fit in it,
+ * entries that can't be decoded are parsed again.
+ *
+ * Every input parsed through the cache is kept in memory and saved,
+ * so only configured templates should be passed to it, not text that changes between calls.
+ */
+@SuppressWarnings("unused") // API
+public final class TemplateCache {
+
+    private static final int MAGIC = 0x454c5443; // ELTC
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 3 + Long.BYTES;
+    private static final int INDEX_ENTRY_SIZE = Long.BYTES + Integer.BYTES * 2;
+
+    private static final int HAS_COLOR = 1;
+    private static final int NAMED_COLOR = 1 << 1;
+    private static final int HAS_DECORATIONS = 1 << 2;
+    private static final int HAS_CLICK = 1 << 3;
+    private static final int HAS_HOVER = 1 << 4;
+    private static final int HAS_INSERTION = 1 << 5;
+
+    private static final TextDecoration[] DECORATIONS = TextDecoration.values();
+    private static final TextDecoration.State[] STATES = TextDecoration.State.values();
+    private static final ClickEvent.Action[] CLICK_ACTIONS = ClickEvent.Action.values();
+
+    private final EnhancedLegacyText enhancedLegacyText;
+    private final Path file;
+    private final long options;
+    private volatile Generation generation;
+    private final Map<String, Component> components = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> encoded = new ConcurrentHashMap<>();
+
+    TemplateCache(EnhancedLegacyText enhancedLegacyText, Path file, long options) throws IOException {
+        this.enhancedLegacyText = enhancedLegacyText;
+        this.file = file;
+        this.options = options;
+
+        long newest = 0;
+        Path directory = file.toAbsolutePath().getParent();
+        String prefix = file.getFileName() + ".";
+        List<Long> older = new ArrayList<>();
+        if (directory != null && Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*")) {
+                for (Path path : stream) {
+                    long number = generationNumber(path.getFileName().toString().substring(prefix.length()));
+                    if (number > newest) {
+                        older.add(newest);
+                        newest = number;
+                    } else if (number > 0) {
+                        older.add(number);
+                    }
+                }
+            }
+        }
+        this.generation = load(newest);
+
+        // Left behind by saves while the previous generation was still mapped
+        for (long number : older) {
+            deleteGeneration(number);
+        }
+    }
+
+    EnhancedLegacyText enhancedLegacyText() {
+        return enhancedLegacyText;
+    }
+
+    /**
+     * Gets the parsed {@link Component} for the input, from the cache if available.
+     * @param input the input text
+     * @return the {@link Component} parsed from the input
+     * @see EnhancedLegacyText#parse(String)
+     */
+    @NotNull
+    public Component parse(@NotNull String input) {
+        Component component = components.get(input);
+        if (component != null) {
+            return component;
+        }
+
+        component = parseUnkept(input);
+        components.put(input, component);
+        return component;
+    }
+
+    /**
+     * Gets the parsed {@link Component} for the input like {@link #parse(String)}, without keeping the component in this cache.
+     * For callers that keep and evict components themselves, the input is still saved.
+     */
+    Component parseUnkept(String input) {
+        Component component = components.get(input);
+        if (component != null) {
+            return component;
+        }
+
+        try {
+            ByteBuffer entry = find(generation, input);
+            if (entry != null) {
+                return decode(entry);
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            // Corrupt entry, parsed again and saved over in the next generation
+        }
+
+        component = enhancedLegacyText.parse(input);
+        byte[] bytes = encode(input, component);
+        if (bytes != null) {
+            encoded.put(input, bytes);
+        }
+        return component;
+    }
+
+    /**
+     * Writes all cached inputs to a new generation of the file, {@code <file>.<generation>},
+     * which is loaded instead of the previous one from then on.
+     * Entries from the previously loaded file that haven't been requested are kept.
+     * @throws IOException if writing the file fails
+     */
+    public synchronized void save() throws IOException {
+        Generation current = generation;
+        TreeMap<Long, List<ByteBuffer>> entries = new TreeMap<>();
+        Map<String, byte[]> saved = new HashMap<>();
+        Set<Integer> replaced = new HashSet<>();
+        for (Map.Entry<String, byte[]> entry : encoded.entrySet()) {
+            // Replaces the mapped entry if it couldn't be decoded
+            replaced.add(findIndex(current, entry.getKey()));
+            entries.computeIfAbsent(hash(entry.getKey()), key -> new ArrayList<>(1)).add(ByteBuffer.wrap(entry.getValue()));
+            saved.put(entry.getKey(), entry.getValue());
+        }
+        for (int i = 0; i < current.entries; i++) {
+            if (!replaced.contains(i)) {
+                entries.computeIfAbsent(current.buffer.getLong(indexPosition(i)), key -> new ArrayList<>(1)).add(entry(current.buffer, i));
+            }
+        }
+
+        int count = 0;
+        for (List<ByteBuffer> value : entries.values()) {
+            count += value.size();
+        }
+
+        // The file of the current generation may still be mapped, which prevents replacing it on some platforms
+        long next = current.number + 1;
+        Path target = generationPath(next);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + count * INDEX_ENTRY_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(options).putInt(count);
+
+            int offset = header.capacity();
+            for (Map.Entry<Long, List<ByteBuffer>> entry : entries.entrySet()) {
+                for (ByteBuffer value : entry.getValue()) {
+                    header.putLong(entry.getKey()).putInt(offset).putInt(value.remaining());
+                    offset += value.remaining();
+                }
+            }
+            header.flip();
+            writeFully(channel, header);
+
+            for (List<ByteBuffer> value : entries.values()) {
+                for (ByteBuffer buffer : value) {
+                    writeFully(channel, buffer.duplicate());
+                }
+            }
+        }
+
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        generation = load(next);
+        for (Map.Entry<String, byte[]> entry : saved.entrySet()) {
+            encoded.remove(entry.getKey(), entry.getValue());
+        }
+        deleteGeneration(current.number);
+    }
+
+    /**
+     * Maps the file of a generation, or returns an empty generation if it doesn't exist or doesn't match.
+     */
+    private Generation load(long number) throws IOException {
+        Path path = generationPath(number);
+        if (Files.isRegularFile(path)) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.capacity() >= HEADER_SIZE
+                        && buffer.getInt(0) == MAGIC
+                        && buffer.getInt(Integer.BYTES) == VERSION
+                        && buffer.getLong(Integer.BYTES * 2) == options) {
+                    int entries = buffer.getInt(HEADER_SIZE - Integer.BYTES);
+                    if (entries >= 0 && (long) entries * INDEX_ENTRY_SIZE <= buffer.capacity() - HEADER_SIZE
+                            && entriesInRange(buffer, entries)) {
+                        return new Generation(number, buffer, entries);
+                    }
+                }
+            }
+        }
+        return new Generation(number, null, 0);
+    }
+
+    private static boolean entriesInRange(ByteBuffer buffer, int entries) {
+        long indexEnd = HEADER_SIZE + (long) entries * INDEX_ENTRY_SIZE;
+        for (int i = 0; i < entries; i++) {
+            int index = indexPosition(i);
+            int offset = buffer.getInt(index + Long.BYTES);
+            int length = buffer.getInt(index + Long.BYTES + Integer.BYTES);
+            if (offset < indexEnd || length < Integer.BYTES || (long) offset + length > buffer.capacity()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Path generationPath(long number) {
+        return number == 0 ? file : file.resolveSibling(file.getFileName() + "." + number);
+    }
+
+    private void deleteGeneration(long number) {
+        try {
+            Files.deleteIfExists(generationPath(number));
+        } catch (IOException ignored) {
+            // Still mapped, deleted when the cache is opened again
+        }
+    }
+
+    private static long generationNumber(String suffix) {
+        if (suffix.isEmpty() || suffix.length() > 18) {
+            return 0;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            char c = suffix.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+        }
+        return Long.parseLong(suffix);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static int indexPosition(int index) {
+        return HEADER_SIZE + index * INDEX_ENTRY_SIZE;
+    }
+
+    /**
+     * Binary searches the mapped index for the input.
+     * @return the entry after the source text, or {@code null} if there isn't one
+     */
+    private static ByteBuffer find(Generation generation, String input) {
+        int index = findIndex(generation, input);
+        if (index == -1) {
+            return null;
+        }
+        ByteBuffer entry = entry(generation.buffer, index);
+        entry.position(Integer.BYTES + entry.getInt());
+        return entry;
+    }
+
+    /**
+     * Binary searches the mapped index for the input.
+     * @return the index of the entry, or {@code -1} if there isn't one
+     */
+    private static int findIndex(Generation generation, String input) {
+        int entries = generation.entries;
+        if (entries == 0) {
+            return -1;
+        }
+
+        ByteBuffer mapped = generation.buffer;
+        long hash = hash(input);
+        int low = 0;
+        int high = entries - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long value = mapped.getLong(indexPosition(middle));
+            if (value < hash) {
+                low = middle + 1;
+            } else if (value > hash) {
+                high = middle - 1;
+            } else {
+                // Go back to the first entry with the same hash, then compare the sources
+                while (middle > 0 && mapped.getLong(indexPosition(middle - 1)) == hash) {
+                    middle--;
+                }
+                byte[] source = input.getBytes(StandardCharsets.UTF_8);
+                for (int i = middle; i < entries && mapped.getLong(indexPosition(i)) == hash; i++) {
+                    ByteBuffer entry = entry(mapped, i);
+                    if (entry.getInt() == source.length && source.length <= entry.remaining()
+                            && ByteBuffer.wrap(source).equals(slice(entry, entry.position(), source.length))) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static ByteBuffer entry(ByteBuffer mapped, int entry) {
+        int index = indexPosition(entry);
+        return slice(mapped, mapped.getInt(index + Long.BYTES), mapped.getInt(index + Long.BYTES + Integer.BYTES));
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(offset);
+        duplicate.limit(offset + length);
+        return duplicate.slice();
+    }
+
+    static long hash(String input) {
+        // FNV-1a
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < input.length(); i++) {
+            hash ^= input.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Encodes the source and component, or returns {@code null} if the component contains something that can't be encoded.
+     */
+    private static byte[] encode(String input, Component component) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            byte[] source = input.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(source.length);
+            output.write(source);
+            if (!encode(output, component)) {
+                return null;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static boolean encode(DataOutputStream output, Component component) throws IOException {
+        if (!(component instanceof TextComponent)) {
+            return false;
+        }
+
+        Style style = component.style();
+        if (style.font() != null) {
+            return false;
+        }
+
+        TextColor color = style.color();
+        int decorations = 0;
+        for (TextDecoration decoration : DECORATIONS) {
+            decorations |= style.decoration(decoration).ordinal() << (decoration.ordinal() * 2);
+        }
+        ClickEvent click = style.clickEvent();
+        HoverEvent<?> hover = style.hoverEvent();
+        if (hover != null && hover.action() != HoverEvent.Action.SHOW_TEXT) {
+            return false;
+        }
+        String insertion = style.insertion();
+
+        int flags = 0;
+        if (color != null) {
+            flags |= HAS_COLOR;
+            if (color instanceof NamedTextColor) {
+                flags |= NAMED_COLOR;
+            }
+        }
+        if (decorations != 0) {
+            flags |= HAS_DECORATIONS;
+        }
+        if (click != null) {
+            flags |= HAS_CLICK;
+        }
+        if (hover != null) {
+            flags |= HAS_HOVER;
+        }
+        if (insertion != null) {
+            flags |= HAS_INSERTION;
+        }
+
+        output.writeByte(flags);
+        writeString(output, ((TextComponent) component).content());
+        if (color != null) {
+            output.writeInt(color.value());
+        }
+        if (decorations != 0) {
+            output.writeShort(decorations);
+        }
+        if (click != null) {
+            output.writeByte(click.action().ordinal());
+            writeString(output, click.value());
+        }
+        if (hover != null && !encode(output, (Component) hover.value())) {
+            return false;
+        }
+        if (insertion != null) {
+            writeString(output, insertion);
+        }
+
+        List<Component> children = component.children();
+        output.writeInt(children.size());
+        for (Component child : children) {
+            if (!encode(output, child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static Component decode(ByteBuffer buffer) {
+        int flags = buffer.get();
+        String content = readString(buffer);
+
+        Style.Builder style = Style.style();
+        if ((flags & HAS_COLOR) != 0) {
+            int value = buffer.getInt();
+            TextColor color = (flags & NAMED_COLOR) != 0 ? NamedTextColor.ofExact(value) : null;
+            style.color(color != null ? color : TextColor.color(value));
+        }
+        if ((flags & HAS_DECORATIONS) != 0) {
+            int decorations = buffer.getShort();
+            for (TextDecoration decoration : DECORATIONS) {
+                style.decoration(decoration, STATES[(decorations >> (decoration.ordinal() * 2)) & 0b11]);
+            }
+        }
+        if ((flags & HAS_CLICK) != 0) {
+            ClickEvent.Action action = CLICK_ACTIONS[buffer.get()];
+            style.clickEvent(ClickEvent.clickEvent(action, readString(buffer)));
+        }
+        if ((flags & HAS_HOVER) != 0) {
+            style.hoverEvent(HoverEvent.showText(decode(buffer)));
+        }
+        if ((flags & HAS_INSERTION) != 0) {
+            style.insertion(readString(buffer));
+        }
+
+        int childCount = buffer.getInt();
+        if (childCount < 0 || childCount > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        List<Component> children = new ArrayList<>(childCount);
+        for (int i = 0; i < childCount; i++) {
+            children.add(decode(buffer));
+        }
+
+        Style builtStyle = style.build();
+        if (content.isEmpty() && children.isEmpty() && builtStyle.isEmpty()) {
+            return Component.empty();
+        }
+        return Span.text(content, builtStyle, children);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.duplicate().get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * A loaded file, the mapped buffer and the number of entries in its index.
+     */
+    private static class Generation {
+
+        private final long number;
+        private final ByteBuffer buffer;
+        private final int entries;
+
+        private Generation(long number, ByteBuffer buffer, int entries) {
+            this.number = number;
+            this.buffer = buffer;
+            this.entries = entries;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+/**
+ * How text is wrapped into lines by {@link EnhancedLegacyText#parseToLines(String, TextWrap)},
+ * and how many lines go on a page for {@link EnhancedLegacyText#parseToPages(String, TextWrap)}.
+ *
+ * Lines are broken at spaces, which are removed from the ends of the lines, and at line breaks ({@code \n}).
+ * Words longer than a line are broken where they reach the end of the line.
+ */
+@SuppressWarnings("unused") // API
+public final class TextWrap {
+
+    /**
+     * The width of a book page in pixels.
+     */
+    public static final int BOOK_WIDTH = 114;
+
+    /**
+     * The amount of lines on a book page.
+     */
+    public static final int BOOK_LINES = 14;
+
+    /**
+     * Wraps lines at a width in pixels, measured with Minecraft's default font (see {@link ParseResult#width()}).
+     * @param width the maximum width of a line in pixels
+     * @return a new {@link TextWrap}
+     */
+    public static TextWrap pixels(int width) {
+        return new TextWrap(width, true, 0);
+    }
+
+    /**
+     * Wraps lines at a amount of characters (code points).
+     * @param width the maximum amount of characters on a line
+     * @return a new {@link TextWrap}
+     */
+    public static TextWrap characters(int width) {
+        return new TextWrap(width, false, 0);
+    }
+
+    /**
+     * Wraps lines and pages to fit in a book.
+     * @return a new {@link TextWrap}
+     */
+    public static TextWrap book() {
+        return new TextWrap(BOOK_WIDTH, true, BOOK_LINES);
+    }
+
+    private final int width;
+    private final boolean pixels;
+    private final int linesPerPage;
+
+    private TextWrap(int width, boolean pixels, int linesPerPage) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("width must be positive");
+        }
+        if (linesPerPage < 0) {
+            throw new IllegalArgumentException("linesPerPage cannot be negative");
+        }
+        this.width = width;
+        this.pixels = pixels;
+        this.linesPerPage = linesPerPage;
+    }
+
+    /**
+     * Creates a copy of this wrap with the given amount of lines per page.
+     * @param linesPerPage the amount of lines on each page
+     * @return a new {@link TextWrap}
+     */
+    public TextWrap linesPerPage(int linesPerPage) {
+        if (linesPerPage <= 0) {
+            throw new IllegalArgumentException("linesPerPage must be positive");
+        }
+        return new TextWrap(width, pixels, linesPerPage);
+    }
+
+    /**
+     * Gets the maximum width of a line.
+     * @return the width in pixels or characters
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * If the width is in pixels instead of characters.
+     * @return {@code true} if the width is in pixels
+     */
+    public boolean isPixels() {
+        return pixels;
+    }
+
+    /**
+     * Gets the amount of lines on each page.
+     * @return the amount of lines, or {@code 0} if not set
+     */
+    public int linesPerPage() {
+        return linesPerPage;
+    }
+}
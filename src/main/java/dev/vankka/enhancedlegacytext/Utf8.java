@@ -0,0 +1,253 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 decoding for parsing bytes without decoding them into a {@link String} first.
+ * All control characters except for a non-ASCII color character are ASCII,
+ * and ASCII bytes are never a part of a multi-byte character, so the input can be scanned for them byte by byte.
+ */
+final class Utf8 {
+
+    private Utf8() {}
+
+    /**
+     * Gets the first byte of the character when encoded as UTF-8.
+     */
+    static int firstByte(char c) {
+        if (c < 0x80) {
+            return c;
+        }
+        if (c < 0x800) {
+            return 0xC0 | (c >> 6);
+        }
+        return 0xE0 | (c >> 12);
+    }
+
+    /**
+     * Finds the next byte that may be a control character, the color character is found by its first byte.
+     * @return the index of the byte or {@code end} if there isn't one
+     */
+    static int nextControlByte(ByteBuffer input, int start, int end, int colorByte, SyntaxDialect syntax) {
+        if (input.hasArray()) {
+            byte[] array = input.array();
+            int offset = input.arrayOffset();
+            for (int i = start; i < end; i++) {
+                int b = array[offset + i] & 0xFF;
+                if (b == colorByte || syntax.isControlCharacter((char) b)) {
+                    return i;
+                }
+            }
+            return end;
+        }
+
+        for (int i = start; i < end; i++) {
+            int b = input.get(i) & 0xFF;
+            if (b == colorByte || syntax.isControlCharacter((char) b)) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Gets the end of the character starting at the given index,
+     * or the index of the next ASCII byte if the bytes aren't valid UTF-8.
+     */
+    static int characterEnd(ByteBuffer input, int index, int end) {
+        int length = sequenceLength(input, index, end);
+        if (length != -1) {
+            return index + length;
+        }
+        int i = index + 1;
+        while (i < end && input.get(i) < 0) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Decodes the bytes into the output. Invalid bytes are replaced the same way as {@link String#String(byte[], java.nio.charset.Charset)}.
+     * @param ascii a view reused for appending ASCII bytes to the output without copying them elsewhere first
+     */
+    static void decode(ByteBuffer input, int start, int end, StringBuilder output, AsciiView ascii) {
+        ascii.wrap(input);
+        try {
+            int i = start;
+            while (i < end) {
+                int runStart = i;
+                i = ascii.nextNonAscii(i, end);
+                if (i != runStart) {
+                    output.append(ascii, runStart, i);
+                }
+                if (i == end) {
+                    return;
+                }
+
+                int length = sequenceLength(input, i, end);
+                if (length == -1) {
+                    // Left to the JDK to replace the same way as when decoding a String
+                    ByteBuffer slice = input.duplicate();
+                    slice.limit(end).position(i);
+                    output.append(StandardCharsets.UTF_8.decode(slice));
+                    return;
+                }
+
+                int b = input.get(i);
+                int codePoint;
+                switch (length) {
+                    case 2:
+                        codePoint = ((b & 0x1F) << 6) | (input.get(i + 1) & 0x3F);
+                        break;
+                    case 3:
+                        codePoint = ((b & 0x0F) << 12) | ((input.get(i + 1) & 0x3F) << 6) | (input.get(i + 2) & 0x3F);
+                        break;
+                    default:
+                        codePoint = ((b & 0x07) << 18) | ((input.get(i + 1) & 0x3F) << 12) | ((input.get(i + 2) & 0x3F) << 6) | (input.get(i + 3) & 0x3F);
+                        break;
+                }
+                output.appendCodePoint(codePoint);
+                i += length;
+            }
+        } finally {
+            ascii.wrap(null);
+        }
+    }
+
+    /**
+     * Gets the length of the valid multi-byte character at the index.
+     * @return the length, or {@code -1} if the bytes are not a valid character
+     */
+    private static int sequenceLength(ByteBuffer input, int index, int end) {
+        int b = input.get(index) & 0xFF;
+        int length, min = 0x80, max = 0xBF;
+        if (b >= 0xC2 && b <= 0xDF) {
+            length = 2;
+        } else if (b >= 0xE0 && b <= 0xEF) {
+            length = 3;
+            if (b == 0xE0) {
+                // Overlong
+                min = 0xA0;
+            } else if (b == 0xED) {
+                // Surrogates
+                max = 0x9F;
+            }
+        } else if (b >= 0xF0 && b <= 0xF4) {
+            length = 4;
+            if (b == 0xF0) {
+                // Overlong
+                min = 0x90;
+            } else if (b == 0xF4) {
+                // Above U+10FFFF
+                max = 0x8F;
+            }
+        } else {
+            return -1;
+        }
+        if (index + length > end) {
+            return -1;
+        }
+
+        int second = input.get(index + 1) & 0xFF;
+        if (second < min || second > max) {
+            return -1;
+        }
+        for (int i = 2; i < length; i++) {
+            int next = input.get(index + i) & 0xFF;
+            if (next < 0x80 || next > 0xBF) {
+                return -1;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * ASCII bytes as characters, indexed the same as the buffer.
+     */
+    static final class AsciiView implements CharSequence {
+
+        private ByteBuffer buffer;
+        private byte[] array;
+        private int arrayOffset;
+
+        void wrap(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.array = buffer != null && buffer.hasArray() ? buffer.array() : null;
+            this.arrayOffset = array != null ? buffer.arrayOffset() : 0;
+        }
+
+        int nextNonAscii(int start, int end) {
+            byte[] array = this.array;
+            if (array != null) {
+                int offset = arrayOffset;
+                for (int i = start; i < end; i++) {
+                    if (array[offset + i] < 0) {
+                        return i;
+                    }
+                }
+                return end;
+            }
+            for (int i = start; i < end; i++) {
+                if (buffer.get(i) < 0) {
+                    return i;
+                }
+            }
+            return end;
+        }
+
+        @Override
+        public int length() {
+            return buffer.limit();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (array != null ? array[arrayOffset + index] : buffer.get(index));
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length() || start > end) {
+                throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length());
+            }
+            if (array != null) {
+                return new String(array, arrayOffset + start, end - start, StandardCharsets.ISO_8859_1);
+            }
+            byte[] bytes = new byte[end - start];
+            for (int i = start; i < end; i++) {
+                bytes[i - start] = buffer.get(i);
+            }
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+    }
+}
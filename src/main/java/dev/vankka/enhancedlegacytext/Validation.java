@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * The result of {@link EnhancedLegacyText#validate(String)}: the problems in the input
+ * and an estimate of how expensive parsing it is.
+ *
+ * Each diagnostic is a part of the input that looked like formatting but is shown as text,
+ * for example an unknown color in {@code [color:purpel]} or an unterminated {@code [click:...}.
+ */
+@SuppressWarnings("unused") // API
+public final class Validation {
+
+    /**
+     * The placeholder pattern used by {@link EnhancedLegacyText#validate(String)}, matches {@code %placeholder%}.
+     */
+    public static final Pattern DEFAULT_PLACEHOLDER = Pattern.compile("%[^%\\s]+%");
+
+    private final List<Diagnostic> diagnostics;
+    private final int componentCount;
+    private final int gradientCharacters;
+    private final int placeholders;
+
+    Validation(List<Diagnostic> diagnostics, int componentCount, int gradientCharacters, int placeholders) {
+        this.diagnostics = Collections.unmodifiableList(new ArrayList<>(diagnostics));
+        this.componentCount = componentCount;
+        this.gradientCharacters = gradientCharacters;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * If the input has no problems.
+     * @return {@code true} if there are no diagnostics
+     */
+    public boolean isValid() {
+        return diagnostics.isEmpty();
+    }
+
+    /**
+     * Gets the problems in the input, in the order they were found.
+     * @return the diagnostics
+     */
+    @NotNull
+    public List<Diagnostic> diagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Gets the amount of components parsing the input would create, including the contents of hover events.
+     * @return the amount of components
+     */
+    public int componentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Gets the amount of characters with gradients, each is a separate component.
+     * @return the amount of gradient characters
+     */
+    public int gradientCharacters() {
+        return gradientCharacters;
+    }
+
+    /**
+     * Gets the amount of placeholders in the input.
+     * @return the amount of placeholders
+     */
+    public int placeholders() {
+        return placeholders;
+    }
+
+    @Override
+    public String toString() {
+        return "Validation{diagnostics=" + diagnostics
+                + ", componentCount=" + componentCount
+                + ", gradientCharacters=" + gradientCharacters
+                + ", placeholders=" + placeholders + "}";
+    }
+
+    /**
+     * The kinds of problems.
+     */
+    public enum Kind {
+
+        UNKNOWN_TAG("Unknown square bracket tag"),
+        INVALID_TAG_VALUE("Invalid square bracket tag value"),
+        UNKNOWN_CLICK_ACTION("Unknown click action"),
+        UNKNOWN_HOVER_ACTION("Unknown hover action"),
+        UNKNOWN_COLOR("Unknown color"),
+        INVALID_DECORATION_STATE("Decoration state is not true or false"),
+        INVALID_LEGACY_CODE("Invalid color code"),
+        INVALID_HEX_COLOR("Invalid hex color"),
+        INVALID_GRADIENT("Invalid gradient"),
+        UNTERMINATED("Not terminated before the end of the input");
+
+        private final String description;
+
+        Kind(String description) {
+            this.description = description;
+        }
+
+        /**
+         * Gets a description of the problem.
+         * @return the description
+         */
+        public String description() {
+            return description;
+        }
+    }
+
+    /**
+     * A problem in the input.
+     */
+    public static final class Diagnostic {
+
+        private final Kind kind;
+        private final int start;
+        private final int end;
+
+        Diagnostic(Kind kind, int start, int end) {
+            this.kind = kind;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Gets the kind of problem.
+         * @return the kind
+         */
+        @NotNull
+        public Kind kind() {
+            return kind;
+        }
+
+        /**
+         * Gets where the formatting that was shown as text starts in the input, inclusive.
+         * @return the start offset
+         */
+        public int start() {
+            return start;
+        }
+
+        /**
+         * Gets where the problem was found in the input, exclusive.
+         * @return the end offset
+         */
+        public int end() {
+            return end;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Diagnostic that = (Diagnostic) o;
+            return start == that.start && end == that.end && kind == that.kind;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, start, end);
+        }
+
+        @Override
+        public String toString() {
+            return kind.description() + " at " + start + "-" + end;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import java.util.Arrays;
+
+/**
+ * Finds the next character that can change the parser's state, for one color character and syntax dialect.
+ *
+ * Java 17 version: {@link String#indexOf(int, int)} is vectorized for compact strings,
+ * so each control character is searched for separately and the positions are remembered between calls.
+ */
+final class ControlCharacters {
+
+    private static final int UNKNOWN = -1;
+    private static final int NOT_FOUND = Integer.MAX_VALUE;
+
+    private final char colorChar;
+    private final SyntaxDialect syntax;
+    private final char[] characters;
+    private final int[] positions;
+    private String input;
+    private int from;
+
+    ControlCharacters(char colorChar, SyntaxDialect syntax) {
+        this.colorChar = colorChar;
+        this.syntax = syntax;
+
+        StringBuilder characters = new StringBuilder().append(colorChar);
+        for (char c = 0; c < 128; c++) {
+            if (c != colorChar && syntax.isControlCharacter(c)) {
+                characters.append(c);
+            }
+        }
+        this.characters = characters.toString().toCharArray();
+        this.positions = new int[this.characters.length];
+    }
+
+    char colorChar() {
+        return colorChar;
+    }
+
+    SyntaxDialect syntax() {
+        return syntax;
+    }
+
+    /**
+     * Gets the index of the next control character.
+     * @param input the input text
+     * @param from the index to start from
+     * @return the index of the next control character, or the length of the input if there isn't one
+     */
+    int next(String input, int from) {
+        if (input != this.input || from < this.from) {
+            this.input = input;
+            Arrays.fill(positions, UNKNOWN);
+        }
+        this.from = from;
+
+        int next = NOT_FOUND;
+        for (int i = 0; i < characters.length; i++) {
+            int position = positions[i];
+            if (position < from) {
+                position = input.indexOf(characters[i], from);
+                positions[i] = position = position == -1 ? NOT_FOUND : position;
+            }
+            next = Math.min(next, position);
+        }
+        return next == NOT_FOUND ? input.length() : next;
+    }
+
+    /**
+     * Forgets any state kept about the last input.
+     */
+    void clear() {
+        input = null;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class AnimationTests {
+
+    @Test
+    public void typewriterTest() {
+        ComponentAnimation animation = EnhancedLegacyText.get().buildComponent("&aab&ccd")
+                .animate()
+                .typewriter(1);
+
+        Assertions.assertEquals(5, animation.frameCount());
+
+        Assertions.assertEquals(Component.empty(), animation.frame(0));
+        Assertions.assertEquals(
+                Component.text().content("a").color(NamedTextColor.GREEN).build(),
+                animation.frame(1)
+        );
+        Assertions.assertEquals(
+                Component.text()
+                        .append(Component.text().content("ab").color(NamedTextColor.GREEN))
+                        .append(Component.text().content("c").color(NamedTextColor.RED))
+                        .build(),
+                animation.frame(3)
+        );
+        Assertions.assertEquals(animation.frame(4), animation.frame(10));
+    }
+
+    @Test
+    public void gradientShiftTest() {
+        ComponentAnimation animation = EnhancedLegacyText.get().buildComponent("{&#000000,&#0000ff,&#ff0000}abc")
+                .animate()
+                .gradientShift(1);
+
+        // Forward and back, skipping the ends on the way back
+        Assertions.assertEquals(4, animation.frameCount());
+
+        List<Component> frames = animation.frames();
+        Assertions.assertEquals(TextColor.color(0x0000ff), frames.get(1).children().get(0).color());
+        Assertions.assertEquals(TextColor.color(0xff0000), frames.get(1).children().get(1).color());
+        Assertions.assertEquals(TextColor.color(0x0000ff), frames.get(1).children().get(2).color());
+        Assertions.assertEquals(frames.get(0), animation.frame(4));
+        Assertions.assertEquals("abc", PlainTextComponentSerializer.plainText().serialize(frames.get(2)));
+    }
+
+    @Test
+    public void notGradientTest() {
+        // Single colored characters as siblings, like a gradient would be
+        ComponentAnimation animation = EnhancedLegacyText.builder().colorResets(true).build().buildComponent("&aA&bB")
+                .animate()
+                .gradientShift(1);
+
+        Assertions.assertEquals(1, animation.frameCount());
+        Assertions.assertEquals(animation.frame(0), animation.frame(1));
+        Assertions.assertEquals(NamedTextColor.GREEN, animation.frame(1).children().get(0).color());
+    }
+
+    @Test
+    public void colorCycleTest() {
+        ComponentAnimation animation = EnhancedLegacyText.get().buildComponent("&aa&9b&fc")
+                .animate()
+                .colorCycle(NamedTextColor.GREEN, NamedTextColor.BLUE);
+
+        Assertions.assertEquals(2, animation.frameCount());
+
+        Component frame = animation.frame(1);
+        Assertions.assertEquals(NamedTextColor.BLUE, frame.children().get(0).color());
+        Assertions.assertEquals(NamedTextColor.GREEN, frame.children().get(1).color());
+        Assertions.assertEquals(NamedTextColor.WHITE, frame.children().get(2).color());
+    }
+}
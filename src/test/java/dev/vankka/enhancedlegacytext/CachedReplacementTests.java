@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CachedReplacementTests {
+
+    @Test
+    public void expireAfterTest() {
+        AtomicInteger calls = new AtomicInteger();
+        CachedReplacement replacement = CachedReplacement.expireAfter(Duration.ofHours(1), calls::incrementAndGet);
+
+        EnhancedComponentBuilder builder = EnhancedLegacyText.get().buildComponent("%value%").replace("%value%", replacement);
+        Assertions.assertEquals(Component.text("1"), builder.build());
+        Assertions.assertEquals(Component.text("1"), builder.build());
+        Assertions.assertEquals(1, calls.get());
+
+        replacement.invalidate();
+        Assertions.assertEquals(Component.text("2"), builder.build());
+    }
+
+    @Test
+    public void versionedTest() {
+        AtomicInteger version = new AtomicInteger();
+        AtomicInteger calls = new AtomicInteger();
+        CachedReplacement replacement = CachedReplacement.versioned(version::get, calls::incrementAndGet);
+
+        Assertions.assertEquals(1, replacement.get());
+        Assertions.assertEquals(1, replacement.get());
+        version.incrementAndGet();
+        Assertions.assertEquals(2, replacement.get());
+    }
+
+    @Test
+    public void parsedTest() {
+        AtomicInteger calls = new AtomicInteger();
+        CachedReplacement replacement = CachedReplacement.expireAfter(Duration.ofHours(1), () -> EnhancedLegacyTextSafeInput.of("&c" + calls.incrementAndGet()))
+                .parsed(EnhancedLegacyText.get());
+
+        Object first = replacement.get();
+        Assertions.assertEquals(Component.text("1", NamedTextColor.RED), first);
+        Assertions.assertSame(first, replacement.get());
+    }
+
+    @Test
+    public void parsedWithOtherInstanceTest() {
+        EnhancedLegacyText dollar = EnhancedLegacyText.builder().colorCharacter('$').build();
+        CachedReplacement replacement = CachedReplacement.expireAfter(Duration.ofHours(1), () -> EnhancedLegacyTextSafeInput.of("&aname"))
+                .parsed(EnhancedLegacyText.builder().adventureHex(false).build());
+
+        // The outer parse continues with its own options after the replacement was parsed
+        Component component = dollar.buildComponent("%value% $cred &c $#123456hex").replace("%value%", replacement).build();
+        Component reference = dollar.buildComponent("%value% $cred &c $#123456hex").replace("%value%", Component.text("name", NamedTextColor.GREEN)).build();
+        Assertions.assertEquals(reference, component);
+    }
+
+    @Test
+    public void parsedPlayerInputTest() {
+        CachedReplacement replacement = CachedReplacement.expireAfter(Duration.ofHours(1), () -> "&c[click:run_command:/op Player]Player")
+                .parsed(EnhancedLegacyText.get());
+
+        Component component = EnhancedLegacyText.get().buildComponent("&aHello %name%").replace("%name%", replacement).build();
+        Assertions.assertEquals("Hello &c[click:run_command:/op Player]Player", PlainTextComponentSerializer.plainText().serialize(component));
+        Assertions.assertEquals(Component.text("&c[click:run_command:/op Player]Player"), replacement.get());
+    }
+
+    @Test
+    public void parsedComponentTest() {
+        Component name = Component.text("name", NamedTextColor.GREEN);
+        CachedReplacement replacement = CachedReplacement.expireAfter(Duration.ofHours(1), () -> name)
+                .parsed(EnhancedLegacyText.get());
+
+        Assertions.assertSame(name, replacement.get());
+        Assertions.assertSame(NamedTextColor.RED, CachedReplacement.expireAfter(Duration.ofHours(1), () -> NamedTextColor.RED)
+                .parsed(EnhancedLegacyText.get()).get());
+    }
+}
@@ -272,4 +272,33 @@ public class ColorTests {
 
         Assertions.assertEquals(reference, component);
     }
+
+    @Test
+    public void colorWrongNamespaceRollbackTest() {
+        Component reference =
+                Component.text()
+                        .content("[color:css:dark_red]test")
+                        .build();
+
+        Component component = EnhancedLegacyText.get().buildComponent("[color:css:dark_red]test").build();
+
+        Assertions.assertEquals(reference, component);
+    }
+
+    @Test
+    public void unknownPrefixRollbackTest() {
+        Component reference =
+                Component.text()
+                        .content("[colour:")
+                        .append(
+                                Component.text()
+                                        .content("red]")
+                                        .color(NamedTextColor.RED)
+                        )
+                        .build();
+
+        Component component = EnhancedLegacyText.get().buildComponent("[colour:[red]red]").build();
+
+        Assertions.assertEquals(reference, component);
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DownsampleTests {
+
+    private static final EnhancedLegacyText DOWNSAMPLING = EnhancedLegacyText.builder().downsampleColors(true).build();
+
+    @Test
+    public void colorTest() {
+        Assertions.assertEquals(Component.text("Hi", NamedTextColor.RED), DOWNSAMPLING.parse("&#ff5555Hi"));
+        Assertions.assertEquals(Component.text("Hi", NamedTextColor.GREEN), DOWNSAMPLING.parse("[color:#56ff55]Hi"));
+        Assertions.assertEquals(
+                Component.text("Hi", NamedTextColor.RED),
+                DOWNSAMPLING.buildComponent("%color%Hi").replace("%color%", TextColor.color(0xff5556)).build()
+        );
+    }
+
+    @Test
+    public void gradientTest() {
+        Component component = DOWNSAMPLING.parse("{&#ff5555,&#5555ff}abcdefghijklmnop");
+
+        StringBuilder content = new StringBuilder();
+        for (Component child : component.children()) {
+            Assertions.assertTrue(child.color() instanceof NamedTextColor, child.toString());
+            content.append(((TextComponent) child).content());
+        }
+        Assertions.assertEquals("abcdefghijklmnop", content.toString());
+        Assertions.assertTrue(component.children().size() < 16, component.toString());
+        Assertions.assertEquals(NamedTextColor.RED, component.children().get(0).color());
+        Assertions.assertEquals(NamedTextColor.BLUE, component.children().get(component.children().size() - 1).color());
+    }
+}
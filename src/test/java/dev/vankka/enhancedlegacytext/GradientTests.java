@@ -147,4 +147,65 @@ public class GradientTests {
 
         Assertions.assertEquals(reference, component);
     }
+
+    private Component grayGradient(int middle) {
+        return Component.text()
+                .append(
+                        Component.text()
+                                .content("1")
+                                .color(TextColor.color(0x000000))
+                                .build()
+                )
+                .append(
+                        Component.text()
+                                .content("2")
+                                .color(TextColor.color(middle))
+                                .build()
+                )
+                .append(
+                        Component.text()
+                                .content("3")
+                                .color(TextColor.color(0xffffff))
+                                .build()
+                )
+                .build();
+    }
+
+    @Test
+    public void gradientSRGBTest() {
+        Component component = EnhancedLegacyText.get().buildComponent("{&#000000,&#ffffff}123").build();
+
+        Assertions.assertEquals(grayGradient(0x7f7f7f), component);
+    }
+
+    @Test
+    public void gradientLinearRGBTest() {
+        Component component = EnhancedLegacyText.builder()
+                .gradientColorSpace(GradientColorSpace.LINEAR_RGB)
+                .build()
+                .buildComponent("{&#000000,&#ffffff}123")
+                .build();
+
+        Assertions.assertEquals(grayGradient(0xbcbcbc), component);
+    }
+
+    @Test
+    public void gradientColorSpaceEndsTest() {
+        for (GradientColorSpace colorSpace : GradientColorSpace.values()) {
+            Component component = EnhancedLegacyText.builder()
+                    .gradientColorSpace(colorSpace)
+                    .build()
+                    .buildComponent("{&#0000ff,&#ff0000}12")
+                    .build();
+
+            Assertions.assertEquals(
+                    TextColor.color(0x0000ff),
+                    component.children().get(0).color()
+            );
+            Assertions.assertEquals(
+                    TextColor.color(0xff0000),
+                    component.children().get(1).color()
+            );
+        }
+    }
 }
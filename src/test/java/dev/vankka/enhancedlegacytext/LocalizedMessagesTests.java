@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class LocalizedMessagesTests {
+
+    @Test
+    public void fallbackTest() {
+        Map<String, String> english = new HashMap<>();
+        english.put("greeting", "&aHello");
+        english.put("farewell", "&cGoodbye");
+        Map<String, String> german = new HashMap<>();
+        german.put("greeting", "&aHallo");
+        Map<String, String> austrian = new HashMap<>();
+        austrian.put("greeting", "&aServus");
+
+        LocalizedMessages messages = LocalizedMessages.builder(EnhancedLegacyText.get())
+                .add(Locale.ENGLISH, english)
+                .add(Locale.GERMAN, german)
+                .add(new Locale("de", "AT"), austrian)
+                .defaultLocale(Locale.ENGLISH)
+                .build();
+
+        EnhancedLegacyText parser = EnhancedLegacyText.get();
+        Assertions.assertEquals(parser.parse("&aServus"), messages.component("greeting", new Locale("de", "AT")));
+        Assertions.assertEquals(parser.parse("&aHallo"), messages.component("greeting", Locale.GERMANY));
+        Assertions.assertEquals(parser.parse("&cGoodbye"), messages.component("farewell", Locale.GERMANY));
+        Assertions.assertEquals(parser.parse("&aHello"), messages.component("greeting", Locale.FRENCH));
+        Assertions.assertSame(messages.component("greeting", Locale.GERMANY), messages.component("greeting", Locale.GERMAN));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> messages.component("missing", Locale.ENGLISH));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> messages.component(-1, Locale.ENGLISH));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> messages.component(messages.keys().size(), Locale.ENGLISH));
+
+        LocalizedMessages.Stats stats = messages.stats().get(Locale.GERMAN);
+        Assertions.assertEquals(1, stats.messages());
+        Assertions.assertEquals(1, stats.parsed());
+        Assertions.assertTrue(stats.parsedBytes() > 0);
+    }
+
+    @Test
+    public void boundedTest() {
+        Map<String, String> english = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            english.put("message." + i, "&aMessage " + i);
+        }
+        LocalizedMessages messages = LocalizedMessages.builder(EnhancedLegacyText.get())
+                .add(Locale.ROOT, english)
+                .maximumSize(10)
+                .build();
+
+        for (int i = 0; i < 100; i++) {
+            Component component = messages.component("message." + i, Locale.ENGLISH);
+            Assertions.assertEquals(EnhancedLegacyText.get().parse("&aMessage " + i), component);
+        }
+        Assertions.assertTrue(messages.stats().get(Locale.ROOT).parsed() <= 10);
+    }
+
+    @Test
+    public void boundedTemplateCacheTest() throws IOException {
+        Path directory = Files.createTempDirectory("templates");
+        try {
+            Map<String, String> english = new HashMap<>();
+            english.put("first", "&aFirst");
+            english.put("second", "&aSecond");
+            LocalizedMessages messages = LocalizedMessages.builder(EnhancedLegacyText.get().templateCache(directory.resolve("templates.cache")))
+                    .add(Locale.ROOT, english)
+                    .maximumSize(1)
+                    .build();
+
+            Component first = messages.component("first", Locale.ROOT);
+            messages.component("second", Locale.ROOT);
+            messages.component("second", Locale.ROOT);
+
+            // Evicted messages aren't kept by the template cache either, they're parsed again
+            Component again = messages.component("first", Locale.ROOT);
+            Assertions.assertEquals(first, again);
+            Assertions.assertNotSame(first, again);
+        } finally {
+            Files.delete(directory);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+public class MessageBundleTests {
+
+    @Test
+    public void lazyTest() {
+        Map<String, String> messages = new HashMap<>();
+        messages.put("greeting", "&aHello");
+        messages.put("welcome", "&cWelcome %player%");
+        MessageBundle bundle = MessageBundle.of(EnhancedLegacyText.get(), messages);
+
+        Component greeting = bundle.component("greeting");
+        Assertions.assertEquals(EnhancedLegacyText.get().parse("&aHello"), greeting);
+        Assertions.assertSame(greeting, bundle.component(bundle.index("greeting")));
+        Assertions.assertEquals(-1, bundle.index("missing"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> bundle.component("missing"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> bundle.component(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> bundle.component(bundle.size()));
+
+        Assertions.assertEquals(
+                EnhancedLegacyText.get().buildComponent("&cWelcome %player%").replace("%player%", "Vankka").build(),
+                bundle.buildComponent("welcome").replace("%player%", "Vankka").build()
+        );
+    }
+
+    @Test
+    public void preparseTest() {
+        Properties properties = new Properties();
+        for (int i = 0; i < 100; i++) {
+            properties.setProperty("message." + i, "&" + Integer.toHexString(i % 16) + "Message " + i);
+        }
+        MessageBundle bundle = MessageBundle.of(EnhancedLegacyText.get(), properties).preparse();
+
+        Assertions.assertEquals(100, bundle.size());
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(EnhancedLegacyText.get().parse(properties.getProperty("message." + i)), bundle.component("message." + i));
+        }
+    }
+
+    @Test
+    public void templateCacheTest() throws IOException {
+        Path directory = Files.createTempDirectory("templates");
+        try {
+            Properties properties = new Properties();
+            properties.setProperty("greeting", "&aHello");
+            MessageBundle bundle = MessageBundle.of(EnhancedLegacyText.get().templateCache(directory.resolve("templates.cache")), properties);
+
+            Assertions.assertEquals(EnhancedLegacyText.get().parse("&aHello"), bundle.component("greeting"));
+        } finally {
+            Files.delete(directory);
+        }
+    }
+}
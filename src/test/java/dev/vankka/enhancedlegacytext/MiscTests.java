@@ -80,4 +80,19 @@ public class MiscTests {
 
         Assertions.assertEquals(reference, component);
     }
+
+    @Test
+    public void internStylesTest() {
+        EnhancedLegacyText enhancedLegacyText = EnhancedLegacyText.builder().internStyles(true).build();
+        String input = "[click:run_command:/spawn][hover:show_text:&aTeleport]&cSpawn";
+
+        Component first = enhancedLegacyText.parse(input);
+        Component second = enhancedLegacyText.parse(input);
+
+        Assertions.assertEquals(EnhancedLegacyText.get().parse(input), first);
+        Assertions.assertEquals(first, second);
+        Assertions.assertSame(first.style(), second.style());
+        Assertions.assertSame(first.clickEvent(), second.clickEvent());
+        Assertions.assertSame(first.hoverEvent(), second.hoverEvent());
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ParseResultTests {
+
+    @Test
+    public void widthTest() {
+        ParseResult result = EnhancedLegacyText.get().parseToResult("&aHello");
+        Assertions.assertEquals(EnhancedLegacyText.get().parse("&aHello"), result.component());
+        Assertions.assertEquals(5, result.visibleLength());
+        Assertions.assertEquals(22, result.width());
+    }
+
+    @Test
+    public void boldTest() {
+        ParseResult result = EnhancedLegacyText.get().parseToResult("&lHi&r Hi");
+        Assertions.assertEquals(5, result.visibleLength());
+        Assertions.assertEquals(10 + 12, result.width());
+    }
+
+    @Test
+    public void replacementTest() {
+        ParseResult result = EnhancedLegacyText.get().buildComponent("&l%a% 😀")
+                .replace("%a%", Component.text("ab"))
+                .buildResult();
+        Assertions.assertEquals(4, result.visibleLength());
+        Assertions.assertEquals(7 + 7 + 4 + 6, result.width());
+    }
+}
@@ -304,4 +304,101 @@ public class PlaceholderTests {
 
         Assertions.assertEquals(reference, component);
     }
+
+    @Test
+    public void recursiveReplacementCycleTest() {
+        Component component = EnhancedLegacyText.get().buildComponent("%a%")
+                .replace("%a%", "x%a%y")
+                .setRecursiveReplacement(RecursiveReplacement.YES)
+                .build();
+
+        Assertions.assertEquals("x%a%y", PlainTextComponentSerializer.plainText().serialize(component));
+    }
+
+    @Test
+    public void recursiveReplacementMatcherUsedTest() {
+        Component component = EnhancedLegacyText.get().buildComponent("%a%")
+                .replaceAll("%a%", matcher -> {
+                    // Leaves the matcher without a match
+                    matcher.find();
+                    return "x%a%y";
+                })
+                .setRecursiveReplacement(RecursiveReplacement.YES)
+                .build();
+
+        Assertions.assertEquals("x%a%y", PlainTextComponentSerializer.plainText().serialize(component));
+    }
+
+    @Test
+    public void recursiveReplacementDepthTest() {
+        EnhancedLegacyText enhancedLegacyText = EnhancedLegacyText.builder().maxReplacementDepth(2).build();
+        Component component = enhancedLegacyText.buildComponent("a")
+                .replace("a", "b")
+                .replace("b", "c")
+                .replace("c", "d")
+                .setRecursiveReplacement(RecursiveReplacement.YES)
+                .build();
+
+        Assertions.assertEquals("d", PlainTextComponentSerializer.plainText().serialize(component));
+    }
+
+    @Test
+    public void recursiveReplacementLengthTest() {
+        EnhancedLegacyText enhancedLegacyText = EnhancedLegacyText.builder().maxReplacementLength(4).build();
+        Component component = enhancedLegacyText.buildComponent("%a% %a% %a%")
+                .replace("%a%", "%b%")
+                .replace("%b%", "ab")
+                .build();
+
+        // Matches in the input are always replaced, only replacement output is limited
+        Assertions.assertEquals("ab %b% %b%", PlainTextComponentSerializer.plainText().serialize(component));
+    }
+
+    @Test
+    public void recursiveReplacementNoDepthTest() {
+        EnhancedLegacyText enhancedLegacyText = EnhancedLegacyText.builder().maxReplacementDepth(0).build();
+        Component component = enhancedLegacyText.buildComponent("a")
+                .replace("a", "b")
+                .replace("b", "c")
+                .setRecursiveReplacement(RecursiveReplacement.YES)
+                .build();
+
+        Assertions.assertEquals("b", PlainTextComponentSerializer.plainText().serialize(component));
+    }
+
+    @Test
+    public void manyReplacementsTest() {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            input.append("%a% ");
+            expected.append("b ");
+        }
+
+        Component component = EnhancedLegacyText.get().buildComponent(input.toString())
+                .replace("%a%", "b")
+                .build();
+
+        Assertions.assertEquals(expected.toString(), PlainTextComponentSerializer.plainText().serialize(component));
+    }
+
+    @Test
+    public void componentReplacementByReferenceTest() {
+        Component replacement = Component.text()
+                .content("card")
+                .color(NamedTextColor.GOLD)
+                .append(Component.text("line 1"), Component.text("line 2"))
+                .build();
+
+        Component component = EnhancedLegacyText.builder().internStyles(true).build()
+                .buildComponent("%card%")
+                .replace("%card%", replacement)
+                .build();
+        Assertions.assertSame(replacement, component);
+
+        Component withSuffix = EnhancedLegacyText.get().buildComponent("%card% after")
+                .replace("%card%", replacement)
+                .build();
+        Assertions.assertSame(replacement, withSuffix.children().get(0));
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RenderHandleTests {
+
+    @Test
+    public void unchangedTest() {
+        AtomicInteger calls = new AtomicInteger();
+        RenderHandle handle = EnhancedLegacyText.get().buildComponent("&aBalance: %balance%")
+                .replace("%balance%", () -> {
+                    calls.incrementAndGet();
+                    return "100";
+                })
+                .renderHandle();
+
+        Component first = handle.component();
+        Assertions.assertEquals(1, calls.get());
+
+        Assertions.assertFalse(handle.update());
+        Assertions.assertSame(first, handle.component());
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void changedTest() {
+        AtomicInteger timer = new AtomicInteger(10);
+        Component header = Component.text("Header", NamedTextColor.GOLD);
+        RenderHandle handle = EnhancedLegacyText.get().buildComponent("%header% &c%timer%s")
+                .replace("%header%", header)
+                .replace("%timer%", timer::get)
+                .renderHandle();
+
+        Component first = handle.component();
+        Assertions.assertEquals("Header 10s", PlainTextComponentSerializer.plainText().serialize(first));
+
+        timer.set(9);
+        Assertions.assertTrue(handle.update());
+
+        Component second = handle.component();
+        Assertions.assertEquals("Header 9s", PlainTextComponentSerializer.plainText().serialize(second));
+        Assertions.assertEquals(
+                EnhancedLegacyText.get().buildComponent("%header% &c%timer%s")
+                        .replace("%header%", header)
+                        .replace("%timer%", "9")
+                        .build(),
+                second
+        );
+
+        // The header didn't change
+        Assertions.assertSame(first.children().get(0), second.children().get(0));
+    }
+
+    @Test
+    public void matcherUsedTest() {
+        AtomicInteger value = new AtomicInteger(1);
+        RenderHandle handle = EnhancedLegacyText.get().buildComponent("%a% %b%")
+                .replaceAll("%(\\w)%", matcher -> {
+                    String name = matcher.group(1);
+                    // Leaves the matcher without a match
+                    matcher.region(0, 0);
+                    return name + value.get();
+                })
+                .renderHandle();
+
+        Assertions.assertEquals("a1 b1", PlainTextComponentSerializer.plainText().serialize(handle.component()));
+        Assertions.assertFalse(handle.update());
+
+        value.set(2);
+        Assertions.assertTrue(handle.update());
+        Assertions.assertEquals("a2 b2", PlainTextComponentSerializer.plainText().serialize(handle.component()));
+    }
+}
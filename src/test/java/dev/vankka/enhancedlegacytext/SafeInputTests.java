@@ -59,4 +59,25 @@ public class SafeInputTests {
 
         Assertions.assertEquals(reference, component);
     }
+
+    @Test
+    public void testUnsafeInputInHover() {
+        Component reference = EnhancedLegacyText.get().parse("[hover:show_text:&a\\&cname]text");
+
+        Component component = EnhancedLegacyText.get().buildComponent("[hover:show_text:&a%placeholder%]text")
+                .replace("%placeholder%", "&cname")
+                .build();
+
+        Assertions.assertEquals(reference, component);
+    }
+
+    @Test
+    public void testEscape() {
+        String input = "&c[bold]{&a,&b}\\";
+        String escaped = EnhancedLegacyText.get().escape(input);
+
+        Assertions.assertEquals("\\&c\\[bold\\]\\{\\&a,\\&b}\\\\", escaped);
+        Assertions.assertEquals(Component.text(input), EnhancedLegacyText.get().parse(escaped));
+        Assertions.assertSame("plain text", EnhancedLegacyText.get().escape("plain text"));
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SerializerTests {
+
+    private static void assertRoundTrip(String input) {
+        EnhancedLegacyText enhancedLegacyText = EnhancedLegacyText.get();
+        Component component = enhancedLegacyText.parse(input);
+        String serialized = enhancedLegacyText.serializer().serialize(component);
+
+        Assertions.assertEquals(
+                enhancedLegacyText.parseToStyledText(input).toString(),
+                enhancedLegacyText.parseToStyledText(serialized).toString(),
+                serialized
+        );
+        Assertions.assertEquals(serialized, enhancedLegacyText.serializer().serialize(enhancedLegacyText.parse(serialized)));
+    }
+
+    @Test
+    public void legacyTest() {
+        Component component = Component.text()
+                .append(Component.text("red ", NamedTextColor.RED))
+                .append(Component.text("bold", NamedTextColor.RED, TextDecoration.BOLD))
+                .append(Component.text(" hex", TextColor.color(0x123456)))
+                .build();
+
+        Assertions.assertEquals("&cred &lbold&#123456[bold:false] hex", EnhancedLegacyText.get().serializer().serialize(component));
+    }
+
+    @Test
+    public void escapeTest() {
+        Component component = Component.text("a&b[c]{d}\\");
+
+        Assertions.assertEquals("a\\&b\\[c\\]\\{d}\\\\", EnhancedLegacyText.get().serializer().serialize(component));
+        Assertions.assertEquals(component, EnhancedLegacyText.get().serializer().deserialize("a\\&b\\[c\\]\\{d}\\\\"));
+    }
+
+    @Test
+    public void eventsTest() {
+        Component component = Component.text()
+                .append(Component.text("click").clickEvent(ClickEvent.runCommand("/say ]")))
+                .append(Component.text(" hover").hoverEvent(HoverEvent.showText(Component.text("hi", NamedTextColor.GREEN))))
+                .build();
+
+        Assertions.assertEquals(
+                "[click:run_command:/say \\]]click[hover:show_text:&ahi][click] hover",
+                EnhancedLegacyText.get().serializer().serialize(component)
+        );
+    }
+
+    @Test
+    public void gradientTest() {
+        Component component = EnhancedLegacyText.get().parse("{&a,&c}hello");
+
+        Assertions.assertEquals("{[#55ff55],[#ff5555]}hello", EnhancedLegacyText.get().serializer().serialize(component));
+    }
+
+    @Test
+    public void roundTripTest() {
+        assertRoundTrip("&c&lHello &9world[bold:false]!");
+        assertRoundTrip("&cred[color] none &lbold");
+        assertRoundTrip("&a{&#0000ff,&#ff0000}gradient&7 after");
+        assertRoundTrip("{[#0000ff],[#00ff00],[#ff0000]}three stops");
+        assertRoundTrip("&cx[hover:show_text:&lbold \\] hover]y[insert:q]z[click:open_url:https://github.com]w[click]v");
+        assertRoundTrip("&7Escaped \\&c \\[bold] text");
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StyledTextTests {
+
+    @Test
+    public void rangesTest() {
+        StyledText styledText = EnhancedLegacyText.get().parseToStyledText("plain &cred &lbold&r [insert:a]end");
+
+        Assertions.assertEquals("plain red bold end", styledText.text());
+        Assertions.assertEquals(3, styledText.size());
+
+        Assertions.assertEquals(6, styledText.start(0));
+        Assertions.assertEquals(10, styledText.end(0));
+        Assertions.assertEquals(NamedTextColor.RED.value(), styledText.color(0));
+        Assertions.assertEquals(0, styledText.decorations(0));
+
+        Assertions.assertEquals(10, styledText.start(1));
+        Assertions.assertEquals(14, styledText.end(1));
+        Assertions.assertTrue(styledText.hasDecoration(1, TextDecoration.BOLD));
+
+        Assertions.assertEquals(15, styledText.start(2));
+        Assertions.assertEquals(18, styledText.end(2));
+        Assertions.assertEquals(StyledText.NO_COLOR, styledText.color(2));
+        Assertions.assertEquals("a", styledText.insertion(2));
+    }
+
+    @Test
+    public void gradientTest() {
+        StyledText styledText = EnhancedLegacyText.get().parseToStyledText("{&#000000,&#ffffff}abc");
+
+        Assertions.assertEquals("abc", styledText.text());
+        Assertions.assertEquals(3, styledText.size());
+        Assertions.assertEquals(0x000000, styledText.color(0));
+        Assertions.assertEquals(0xffffff, styledText.color(2));
+    }
+
+    @Test
+    public void componentReplacementTest() {
+        StyledText styledText = EnhancedLegacyText.get().buildComponent("%p% &aafter")
+                .replace("%p%", Component.text("comp", NamedTextColor.BLUE))
+                .buildStyledText();
+
+        Assertions.assertEquals("comp after", styledText.text());
+        Assertions.assertEquals(2, styledText.size());
+        Assertions.assertEquals(NamedTextColor.BLUE.value(), styledText.color(0));
+        Assertions.assertEquals(4, styledText.end(0));
+        Assertions.assertEquals(NamedTextColor.GREEN.value(), styledText.color(1));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SyntaxDialectTests {
+
+    private static final EnhancedLegacyText ANGLE_BRACKETS = EnhancedLegacyText.builder()
+            .syntaxDialect(
+                    SyntaxDialect.builder()
+                            .escapeCharacter('~')
+                            .squareBrackets('<', '=', '>')
+                            .gradients('(', ';', ')')
+                            .hexCharacter('$')
+                            .build()
+            )
+            .build();
+
+    @Test
+    public void charactersTest() {
+        EnhancedLegacyText defaults = EnhancedLegacyText.get();
+
+        Assertions.assertEquals(defaults.parse("[bold:true]Hi [color:#ff0000]there"), ANGLE_BRACKETS.parse("<bold=true>Hi <color=$ff0000>there"));
+        Assertions.assertEquals(defaults.parse("{&c,[#0000ff]}gradient"), ANGLE_BRACKETS.parse("(&c;<$0000ff>)gradient"));
+        Assertions.assertEquals(defaults.parse("&#123456Hi"), ANGLE_BRACKETS.parse("&$123456Hi"));
+        Assertions.assertEquals(Component.text("[a]{b}\\ <c>"), ANGLE_BRACKETS.parse("[a]{b}\\ ~<c~>"));
+        Assertions.assertEquals("a~<b~>~(c", ANGLE_BRACKETS.escape("a<b>(c"));
+    }
+
+    @Test
+    public void disabledTest() {
+        EnhancedLegacyText disabled = EnhancedLegacyText.builder()
+                .syntaxDialect(SyntaxDialect.builder().escapes(false).squareBrackets(false).gradients(false).build())
+                .build();
+
+        Assertions.assertEquals(
+                EnhancedLegacyText.get().parse("\\[bold:true\\]\\{a} \\\\&cHi"),
+                disabled.parse("[bold:true]{a} \\&cHi")
+        );
+        Assertions.assertEquals(Component.text("[hover:show_text:hi] {a,b}"), disabled.parse("[hover:show_text:hi] {a,b}"));
+        Assertions.assertThrows(IllegalStateException.class, () -> disabled.escape("&c"));
+        Assertions.assertEquals("[a]", disabled.escape("[a]"));
+    }
+
+    @Test
+    public void invalidTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SyntaxDialect.builder().gradients('[', ',', '}').build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SyntaxDialect.builder().hexCharacter('x').build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SyntaxDialect.builder().escapeCharacter('é').build());
+        Assertions.assertThrows(IllegalStateException.class, () -> EnhancedLegacyText.builder().colorCharacter('{').build());
+
+        // Characters of disabled constructs are free to be used for something else
+        SyntaxDialect dialect = SyntaxDialect.builder().gradients(false).squareBrackets('{', ':', '}').build();
+        Assertions.assertEquals(
+                EnhancedLegacyText.get().parse("[color:red]Hi"),
+                EnhancedLegacyText.builder().syntaxDialect(dialect).build().parse("{color:red}Hi")
+        );
+        Assertions.assertEquals(dialect, dialect.toBuilder().build());
+    }
+
+    @Test
+    public void serializerTest() {
+        Component component = Component.text()
+                .append(Component.text("click>").clickEvent(ClickEvent.runCommand("/say >")))
+                .append(Component.text(" bold", NamedTextColor.RED, TextDecoration.BOLD))
+                .build();
+
+        String serialized = ANGLE_BRACKETS.serializer().serialize(component);
+        Assertions.assertEquals("<click=run_command=/say ~>>click~><click>&c&l bold", serialized);
+        Assertions.assertEquals(
+                ANGLE_BRACKETS.parseToStyledText(serialized).toString(),
+                EnhancedLegacyText.get().parseToStyledText(EnhancedLegacyText.get().serializer().serialize(component)).toString()
+        );
+    }
+}
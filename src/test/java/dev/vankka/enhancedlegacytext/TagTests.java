@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TagTests {
+
+    private static final EnhancedLegacyText TAGS = EnhancedLegacyText.builder()
+            .tag("lang", Component::translatable)
+            .tag("font", value -> value.startsWith("minecraft:") ? Style.style().font(Key.key(value)).build() : null)
+            .tag("rank", value -> value.isEmpty() ? TextColor.color(0x123456) : null)
+            .build();
+
+    @Test
+    public void componentTest() {
+        Assertions.assertEquals(
+                Component.text()
+                        .append(Component.text().content("A ").append(Component.translatable("block.minecraft.stone")))
+                        .append(Component.text(" block"))
+                        .build(),
+                TAGS.parse("A [lang:block.minecraft.stone] block")
+        );
+    }
+
+    @Test
+    public void styleTest() {
+        Assertions.assertEquals(
+                Component.text("Hi", Style.style(NamedTextColor.RED).font(Key.key("minecraft:uniform"))),
+                TAGS.parse("&c[font:minecraft:uniform]Hi")
+        );
+        Assertions.assertEquals(TAGS.parse("[#123456]Hi"), TAGS.parse("[rank]Hi"));
+    }
+
+    @Test
+    public void invalidTest() {
+        Assertions.assertEquals(Component.text("[font:uniform]Hi"), TAGS.parse("[font:uniform]Hi"));
+        Assertions.assertEquals(Component.text("[rank:x] [unknown:x]"), TAGS.parse("[rank:x] [unknown:x]"));
+        Assertions.assertEquals(Component.text("[lang:x]"), EnhancedLegacyText.get().parse("[lang:x]"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EnhancedLegacyText.builder().tag("bold", value -> null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EnhancedLegacyText.builder().tag("red", value -> null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EnhancedLegacyText.builder().tag("Lang", value -> null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EnhancedLegacyText.builder().tag("bed", value -> null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EnhancedLegacyText.builder().tag("facade", value -> null));
+        EnhancedLegacyText.builder().tag("beds", value -> null);
+    }
+
+    @Test
+    public void validateTest() {
+        AtomicInteger calls = new AtomicInteger();
+        EnhancedLegacyText counting = EnhancedLegacyText.builder()
+                .tag("rank", value -> {
+                    calls.incrementAndGet();
+                    return null;
+                })
+                .build();
+
+        Assertions.assertTrue(counting.validate("[rank:x] &cHi").diagnostics().isEmpty());
+        Assertions.assertEquals(0, calls.get());
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+public class TemplateCacheTests {
+
+    private static final String[] INPUTS = {
+            "&c&lHello &9world",
+            "{&a,&c}gradient [insert:a]insert",
+            "[hover:show_text:&ahover]text[click:open_url:https://github.com]click",
+            ""
+    };
+
+    @Test
+    public void saveAndLoadTest() throws IOException {
+        Path directory = Files.createTempDirectory("templates");
+        Path file = directory.resolve("templates.cache");
+        try {
+            TemplateCache cache = EnhancedLegacyText.get().templateCache(file);
+            for (String input : INPUTS) {
+                Assertions.assertEquals(EnhancedLegacyText.get().parse(input), cache.parse(input));
+            }
+            cache.save();
+
+            TemplateCache loaded = EnhancedLegacyText.get().templateCache(file);
+            for (String input : INPUTS) {
+                Assertions.assertEquals(EnhancedLegacyText.get().parse(input), loaded.parse(input));
+            }
+            Assertions.assertEquals(EnhancedLegacyText.get().parse("&anot cached"), loaded.parse("&anot cached"));
+            loaded.save();
+
+            TemplateCache merged = EnhancedLegacyText.get().templateCache(file);
+            Assertions.assertEquals(EnhancedLegacyText.get().parse("&anot cached"), merged.parse("&anot cached"));
+            Assertions.assertEquals(EnhancedLegacyText.get().parse(INPUTS[0]), merged.parse(INPUTS[0]));
+
+            // Saving again while the previous save is mapped
+            merged.parse("&bsaved twice");
+            merged.save();
+            merged.save();
+            Assertions.assertEquals(EnhancedLegacyText.get().parse("&bsaved twice"), EnhancedLegacyText.get().templateCache(file).parse("&bsaved twice"));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void differentOptionsTest() throws IOException {
+        Path directory = Files.createTempDirectory("templates");
+        Path file = directory.resolve("templates.cache");
+        try {
+            TemplateCache cache = EnhancedLegacyText.get().templateCache(file);
+            cache.parse("&cred");
+            cache.save();
+
+            EnhancedLegacyText noLegacy = EnhancedLegacyText.builder().useLegacy(false).build();
+            Component component = noLegacy.templateCache(file).parse("&cred");
+            Assertions.assertEquals(Component.text("&cred"), component);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void customTagsTest() throws IOException {
+        Path directory = Files.createTempDirectory("templates");
+        Path file = directory.resolve("templates.cache");
+        try {
+            EnhancedLegacyText tags = EnhancedLegacyText.builder().tag("name", value -> Component.text("name")).build();
+            Assertions.assertThrows(IllegalStateException.class, () -> tags.templateCache(file));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void invalidIndexTest() throws IOException {
+        Path directory = Files.createTempDirectory("templates");
+        Path file = directory.resolve("templates.cache");
+        try {
+            TemplateCache cache = EnhancedLegacyText.get().templateCache(file);
+            cache.parse("&cred");
+            cache.save();
+
+            // An entry count that doesn't fit in the file
+            Path saved = directory.resolve("templates.cache.1");
+            byte[] bytes = Files.readAllBytes(saved);
+            ByteBuffer.wrap(bytes).putInt(Integer.BYTES * 2 + Long.BYTES, Integer.MAX_VALUE);
+            Files.write(saved, bytes);
+
+            Assertions.assertEquals(EnhancedLegacyText.get().parse("&cred"), EnhancedLegacyText.get().templateCache(file).parse("&cred"));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void corruptEntryTest() throws IOException {
+        Path directory = Files.createTempDirectory("templates");
+        Path file = directory.resolve("templates.cache");
+        try {
+            TemplateCache cache = EnhancedLegacyText.get().templateCache(file);
+            cache.parse("&cred");
+            cache.parse("&agreen");
+            cache.save();
+
+            // The child count at the end of the last entry
+            Path saved = directory.resolve("templates.cache.1");
+            byte[] bytes = Files.readAllBytes(saved);
+            ByteBuffer.wrap(bytes).putInt(bytes.length - Integer.BYTES, Integer.MAX_VALUE);
+            Files.write(saved, bytes);
+
+            TemplateCache loaded = EnhancedLegacyText.get().templateCache(file);
+            Assertions.assertEquals(EnhancedLegacyText.get().parse("&cred"), loaded.parse("&cred"));
+            Assertions.assertEquals(EnhancedLegacyText.get().parse("&agreen"), loaded.parse("&agreen"));
+            loaded.save();
+
+            TemplateCache repaired = EnhancedLegacyText.get().templateCache(file);
+            Assertions.assertEquals(EnhancedLegacyText.get().parse("&cred"), repaired.parse("&cred"));
+            Assertions.assertEquals(EnhancedLegacyText.get().parse("&agreen"), repaired.parse("&agreen"));
+
+            // An entry offset outside of the file
+            Path repairedFile = directory.resolve("templates.cache.2");
+            bytes = Files.readAllBytes(repairedFile);
+            ByteBuffer.wrap(bytes).putInt(Integer.BYTES * 3 + Long.BYTES + Long.BYTES, bytes.length);
+            Files.write(repairedFile, bytes);
+            Assertions.assertEquals(EnhancedLegacyText.get().parse("&cred"), EnhancedLegacyText.get().templateCache(file).parse("&cred"));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                Files.delete(path);
+            }
+        }
+        Files.delete(directory);
+    }
+}
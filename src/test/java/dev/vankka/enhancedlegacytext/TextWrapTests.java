@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class TextWrapTests {
+
+    @Test
+    public void wrapTest() {
+        List<Component> lines = EnhancedLegacyText.get().parseToLines("&aHello there &cworld", TextWrap.characters(10));
+        Assertions.assertEquals(
+                Arrays.asList(
+                        Component.text("Hello", NamedTextColor.GREEN),
+                        Component.text("there", NamedTextColor.GREEN),
+                        Component.text("world", NamedTextColor.RED)
+                ),
+                lines
+        );
+    }
+
+    @Test
+    public void longWordAndNewlineTest() {
+        List<Component> lines = EnhancedLegacyText.get().parseToLines("abcdefghij\n\nab", TextWrap.characters(4));
+        Assertions.assertEquals(
+                Arrays.asList(
+                        Component.text("abcd"),
+                        Component.text("efgh"),
+                        Component.text("ij"),
+                        Component.empty(),
+                        Component.text("ab")
+                ),
+                lines
+        );
+    }
+
+    @Test
+    public void pixelTest() {
+        // "Hi Hi" is 6 + 2 + 4 + 6 + 2 pixels, the space after it doesn't fit
+        List<Component> lines = EnhancedLegacyText.get().parseToLines("Hi Hi &lHi", TextWrap.pixels(22));
+        Assertions.assertEquals(
+                Arrays.asList(
+                        Component.text("Hi Hi"),
+                        Component.text("Hi", Style.style(TextDecoration.BOLD))
+                ),
+                lines
+        );
+    }
+
+    @Test
+    public void gradientTest() {
+        String input = "{&#ff0000,&#0000ff}abcd efgh";
+        StyledText styledText = EnhancedLegacyText.get().parseToStyledText(input);
+        List<Component> lines = EnhancedLegacyText.get().parseToLines(input, TextWrap.characters(4));
+
+        Assertions.assertEquals(2, lines.size());
+        TextColor firstOfSecondLine = lines.get(1).children().get(0).color();
+        Assertions.assertNotNull(firstOfSecondLine);
+        Assertions.assertEquals(styledText.color(5), firstOfSecondLine.value());
+    }
+
+    @Test
+    public void pagesTest() {
+        List<Component> pages = EnhancedLegacyText.get().parseToPages("aa bb cc", TextWrap.characters(4).linesPerPage(2));
+        Assertions.assertEquals(
+                Arrays.asList(
+                        Component.text().append(Component.text("aa"), Component.newline(), Component.text("bb")).build(),
+                        Component.text().append(Component.text("cc")).build()
+                ),
+                pages
+        );
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EnhancedLegacyText.get().parseToPages("aa", TextWrap.characters(4)));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TranslateTests {
+
+    @Test
+    public void keyTest() {
+        Assertions.assertEquals(
+                Component.translatable("block.minecraft.stone"),
+                EnhancedLegacyText.get().parse("[translate:block.minecraft.stone]")
+        );
+    }
+
+    @Test
+    public void argumentsTest() {
+        Component component = EnhancedLegacyText.get().parse("[translate:chat.type.text:&aVankka:[bold:true]Hello\\: there]");
+
+        Assertions.assertEquals(
+                Component.translatable(
+                        "chat.type.text",
+                        EnhancedLegacyText.get().parse("&aVankka"),
+                        EnhancedLegacyText.get().parse("[bold:true]Hello: there")
+                ),
+                component
+        );
+        Assertions.assertEquals(
+                Component.text("Hello: there", Component.empty().style().decoration(TextDecoration.BOLD, true)),
+                EnhancedLegacyText.get().parse("[bold:true]Hello: there")
+        );
+    }
+
+    @Test
+    public void styleTest() {
+        Assertions.assertEquals(
+                Component.text().color(NamedTextColor.RED).append(Component.translatable("block.minecraft.stone")).build(),
+                EnhancedLegacyText.get().parse("&c[translate:block.minecraft.stone]")
+        );
+    }
+
+    @Test
+    public void invalidTest() {
+        Assertions.assertEquals(Component.text("[translate] [translate:]"), EnhancedLegacyText.get().parse("[translate] [translate:]"));
+        Assertions.assertEquals(
+                Validation.Kind.UNTERMINATED,
+                EnhancedLegacyText.get().validate("[translate:key:[bold:true]").diagnostics().get(0).kind()
+        );
+    }
+}
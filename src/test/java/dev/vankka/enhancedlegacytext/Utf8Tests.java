@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class Utf8Tests {
+
+    private static void assertSameAsString(EnhancedLegacyText enhancedLegacyText, byte[] bytes) {
+        Assertions.assertEquals(
+                enhancedLegacyText.parse(new String(bytes, StandardCharsets.UTF_8)),
+                enhancedLegacyText.parse(bytes, 0, bytes.length),
+                new String(bytes, StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    public void sameAsStringTest() {
+        String[] inputs = {
+                "",
+                "plain text",
+                "Grüße 日本語 😀",
+                "&aGrüße [bold:true]日本語&r 😀",
+                "{&#ff0000,&#00ff00}Grüße [hover:show_text:&c日本語]😀[hover] \\&a",
+                "[click:open_url:https://example.com/ü]Klick"
+        };
+        for (String input : inputs) {
+            assertSameAsString(EnhancedLegacyText.get(), input.getBytes(StandardCharsets.UTF_8));
+        }
+
+        EnhancedLegacyText section = EnhancedLegacyText.builder().colorCharacter('§').build();
+        assertSameAsString(section, "§aGrüße ¡§lbold".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void invalidBytesTest() {
+        assertSameAsString(EnhancedLegacyText.get(), new byte[] {'a', (byte) 0xE2, (byte) 0x28, 'b', (byte) 0xFF, '&', 'c', (byte) 0xC3});
+        assertSameAsString(EnhancedLegacyText.get(), new byte[] {'&', (byte) 0xF0, (byte) 0x9F, (byte) 0x98, 'x', (byte) 0xED, (byte) 0xA0, (byte) 0x80});
+    }
+
+    @Test
+    public void bufferTest() {
+        byte[] bytes = "xx&aGrüße &lbold!xx".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        buffer.position(2).limit(bytes.length - 2);
+
+        Assertions.assertEquals(EnhancedLegacyText.get().parse("&aGrüße &lbold!"), EnhancedLegacyText.get().parse(buffer));
+        Assertions.assertEquals(2, buffer.position());
+    }
+
+    @Test
+    public void asciiViewTest() {
+        byte[] bytes = "&aascii text".getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+
+        for (ByteBuffer buffer : new ByteBuffer[] {ByteBuffer.wrap(bytes), direct}) {
+            Utf8.AsciiView view = new Utf8.AsciiView();
+            view.wrap(buffer);
+            Assertions.assertEquals("ascii", view.subSequence(2, 7).toString());
+            Assertions.assertEquals("&aascii text", view.toString());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 Vankka
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.vankka.enhancedlegacytext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.HoverEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ValidationTests {
+
+    private static void assertDiagnostic(Validation validation, Validation.Kind kind, int start, int end) {
+        Assertions.assertFalse(validation.isValid(), validation.toString());
+        Validation.Diagnostic diagnostic = validation.diagnostics().get(0);
+        Assertions.assertEquals(kind, diagnostic.kind(), validation.toString());
+        Assertions.assertEquals(start, diagnostic.start(), validation.toString());
+        Assertions.assertEquals(end, diagnostic.end(), validation.toString());
+    }
+
+    @Test
+    public void validTest() {
+        Validation validation = EnhancedLegacyText.get().validate("{&a,&c}grad&r &aHello [bold:true]World %player%");
+        Assertions.assertTrue(validation.isValid(), validation.toString());
+        Assertions.assertEquals(1, validation.placeholders());
+        Assertions.assertEquals(4, validation.gradientCharacters());
+    }
+
+    @Test
+    public void diagnosticsTest() {
+        EnhancedLegacyText parser = EnhancedLegacyText.get();
+        assertDiagnostic(parser.validate("&aHello [color:purpel]x"), Validation.Kind.UNKNOWN_COLOR, 8, 20);
+        assertDiagnostic(parser.validate("&zabc"), Validation.Kind.INVALID_LEGACY_CODE, 0, 2);
+        assertDiagnostic(parser.validate("a [click:open_url:https://example.com"), Validation.Kind.UNTERMINATED, 2, 37);
+        assertDiagnostic(parser.validate("a [click:jump:x]"), Validation.Kind.UNKNOWN_CLICK_ACTION, 2, 10);
+        assertDiagnostic(parser.validate("{&a,&cx"), Validation.Kind.INVALID_GRADIENT, 0, 7);
+        assertDiagnostic(parser.validate("text&"), Validation.Kind.UNTERMINATED, 4, 5);
+    }
+
+    @Test
+    public void offsetsAfterRollbackTest() {
+        Validation validation = EnhancedLegacyText.get().validate("[&z]");
+        Assertions.assertEquals(2, validation.diagnostics().size(), validation.toString());
+        Assertions.assertEquals(new Validation.Diagnostic(Validation.Kind.UNKNOWN_TAG, 0, 2), validation.diagnostics().get(0));
+        Assertions.assertEquals(new Validation.Diagnostic(Validation.Kind.INVALID_LEGACY_CODE, 1, 3), validation.diagnostics().get(1));
+    }
+
+    @Test
+    public void componentCountTest() {
+        String[] inputs = {
+                "plain",
+                "&aHello &cWorld",
+                "&a&lHello [bold:false]World",
+                "{&a,&c}abc &rdef",
+                "[hover:show_text:&cHover]&aText[hover] more"
+        };
+        for (String input : inputs) {
+            Assertions.assertEquals(count(EnhancedLegacyText.get().parse(input)), EnhancedLegacyText.get().validate(input).componentCount(), input);
+        }
+    }
+
+    private static int count(Component component) {
+        int count = 1;
+        HoverEvent<?> hoverEvent = component.style().hoverEvent();
+        if (hoverEvent != null && hoverEvent.value() instanceof Component) {
+            count += count((Component) hoverEvent.value());
+        }
+        for (Component child : component.children()) {
+            count += count(child);
+        }
+        return count;
+    }
+}